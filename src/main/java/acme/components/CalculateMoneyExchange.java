@@ -2,8 +2,7 @@
 package acme.components;
 
 import java.util.Calendar;
-
-import org.springframework.web.client.RestTemplate;
+import java.util.Date;
 
 import acme.entities.MoneyExchangeCache;
 import acme.forms.MoneyExchange;
@@ -17,80 +16,32 @@ public class CalculateMoneyExchange {
 	  }
 
 	public static Boolean checkCache(final MoneyExchangeCache cache) {
+		return CalculateMoneyExchange.checkDate(cache.getDate());
+	}
+
+	public static Boolean checkDate(final Calendar moment) {
 		final Boolean result;
 		Calendar date;
 
 		date = Calendar.getInstance();
-		if (date.get(Calendar.DATE) == cache.getDate().get(Calendar.DATE) && date.get(Calendar.MONTH) == cache.getDate().get(Calendar.MONTH) && date.get(Calendar.YEAR) == cache.getDate().get(Calendar.YEAR)) {
+		if (date.get(Calendar.DATE) == moment.get(Calendar.DATE) && date.get(Calendar.MONTH) == moment.get(Calendar.MONTH) && date.get(Calendar.YEAR) == moment.get(Calendar.YEAR)) {
 			result = true;
 		} else
 			result = false;
 		return result;
 	}
 
-	public static MoneyExchange computeMoneyExchange(final Money source, final String targetCurrency) {
+	public static MoneyExchange calculateMoneyExchange(final Money source, final String targetCurrency, final Double rate, final Date date) {
 		assert source != null;
 		assert !StringHelper.isBlank(targetCurrency);
+		assert rate != null;
+		assert date != null;
 
 		MoneyExchange result;
-		RestTemplate api;
-		ExchangeRate record;
-		String sourceCurrency;
-		Double sourceAmount, targetAmount, rate;
+		double targetAmount;
 		Money target;
 
-		final Calendar date = Calendar.getInstance();
-
-		try {
-			api = new RestTemplate();
-
-			sourceCurrency = source.getCurrency();
-			sourceAmount = source.getAmount();
-
-			record = api.getForObject( //
-				"https://api.exchangerate.host/latest?base={0}&symbols={1}", //
-				ExchangeRate.class, //
-				sourceCurrency, //
-				targetCurrency //
-			);
-
-			assert record != null;
-			rate = record.getRates().get(targetCurrency);
-			targetAmount = rate * sourceAmount;
-
-			target = new Money();
-			target.setAmount(targetAmount);
-			target.setCurrency(targetCurrency);
-
-			date.setTime(record.getDate());
-
-			result = new MoneyExchange();
-			result.setSource(source);
-			result.setTargetCurrency(targetCurrency);
-			result.setDate(record.getDate());
-			result.setTarget(target);
-			result.setRate(rate);
-
-		} catch (final Throwable oops) {
-			result = null;
-		}
-
-		return result;
-	}
-
-	public static MoneyExchange calculateMoneyExchangeFromCache(final Money source, final String targetCurrency, final MoneyExchangeCache cache) {
-		assert source != null;
-		assert !StringHelper.isBlank(targetCurrency);
-
-		MoneyExchange result;
-		Double sourceAmount, targetAmount, rate;
-		Money target;
-
-		sourceAmount = source.getAmount();
-
-		assert cache != null;
-		rate = cache.getRate();
-		targetAmount = rate * sourceAmount;
+		targetAmount = MoneyArithmetic.convert(source.getAmount(), rate);
 
 		target = new Money();
 		target.setAmount(targetAmount);
@@ -99,12 +50,11 @@ public class CalculateMoneyExchange {
 		result = new MoneyExchange();
 		result.setSource(source);
 		result.setTargetCurrency(targetCurrency);
-		result.setDate(cache.getDate().getTime());
+		result.setDate(date);
 		result.setTarget(target);
 		result.setRate(rate);
 
 		return result;
-
 	}
 
 }
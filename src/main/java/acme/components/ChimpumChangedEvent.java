@@ -0,0 +1,67 @@
+package acme.components;
+
+import acme.entities.Chimpum;
+
+/*
+ * Published by the EntityChangePublisher whenever a chimpum is created, updated or deleted. The
+ * previous state is null for new chimpums and the current one is null for deleted ones.
+ */
+public class ChimpumChangedEvent {
+
+	// Internal state ---------------------------------------------------------
+
+	private final State	previous;
+	private final State	current;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public ChimpumChangedEvent(final State previous, final State current) {
+		this.previous = previous;
+		this.current = current;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public State getPrevious() {
+		return this.previous;
+	}
+
+	public State getCurrent() {
+		return this.current;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	public static class State {
+
+		private final String	currency;
+		private final double	amount;
+
+
+		public State(final String currency, final double amount) {
+			this.currency = currency;
+			this.amount = amount;
+		}
+
+		public static State of(final Chimpum chimpum) {
+			assert chimpum != null;
+
+			return new State(chimpum.getBudget().getCurrency(), chimpum.getBudget().getAmount());
+		}
+
+		public String getCurrency() {
+			return this.currency;
+		}
+
+		public double getAmount() {
+			return this.amount;
+		}
+
+		public boolean sameAs(final State other) {
+			return other != null && this.currency.equals(other.currency) && this.amount == other.amount;
+		}
+
+	}
+
+}
@@ -0,0 +1,68 @@
+package acme.components;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Minimal circuit breaker. After a number of consecutive failures the circuit opens and calls are
+ * rejected for a while; then a single trial call is let through, which closes the circuit if it
+ * succeeds or opens it again if it fails.
+ */
+public class CircuitBreaker {
+
+	// Internal state ---------------------------------------------------------
+
+	private final int			failureThreshold;
+	private final long			openDuration;
+
+	private final AtomicInteger	failures;
+	private final AtomicLong	openedAt;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public CircuitBreaker(final int failureThreshold, final long openDuration) {
+		assert failureThreshold > 0;
+		assert openDuration >= 0;
+
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.failures = new AtomicInteger();
+		this.openedAt = new AtomicLong(-1);
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public boolean allowRequest() {
+		boolean result;
+		long opened, now;
+
+		opened = this.openedAt.get();
+		now = System.currentTimeMillis();
+
+		if (opened < 0)
+			result = true;
+		else if (now - opened < this.openDuration)
+			result = false;
+		else
+			// Half-open: only the caller that pushes the deadline forward gets the trial call.
+			result = this.openedAt.compareAndSet(opened, now);
+
+		return result;
+	}
+
+	public boolean isOpen() {
+		return this.openedAt.get() >= 0;
+	}
+
+	public void recordSuccess() {
+		this.failures.set(0);
+		this.openedAt.set(-1);
+	}
+
+	public void recordFailure() {
+		if (this.failures.incrementAndGet() >= this.failureThreshold)
+			this.openedAt.set(System.currentTimeMillis());
+	}
+
+}
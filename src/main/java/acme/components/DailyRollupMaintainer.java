@@ -0,0 +1,233 @@
+package acme.components;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import acme.entities.DailyRollup;
+import acme.entities.RollupSubject;
+import acme.entities.RollupWatermark;
+
+/*
+ * Maintains the DailyRollup rows from which the dashboards draw their trends, so that no request
+ * has to scan items or patronages by creation moment. Every run folds the rows created after the
+ * watermark of each subject into the rollups of their days and then advances the watermark. The
+ * days of the rows that have been created, changed or deleted through the feature services are
+ * recomputed from scratch instead, since a rollup cannot tell which of its rows changed and a row
+ * may commit after a run has moved the watermark past its creation moment. Runs are started by
+ * the DailyRollupRefresher.
+ */
+@Component
+public class DailyRollupMaintainer {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected DailyRollupRepository					repository;
+
+	// Days to recompute, as the milliseconds at which they start.
+	protected final Map<RollupSubject, Set<Long>>	dirty	= new EnumMap<>(RollupSubject.class);
+
+	// Business methods -------------------------------------------------------
+
+
+	@Transactional
+	public void roll() {
+		Map<RollupSubject, Set<Long>> days;
+
+		synchronized (this) {
+			days = new EnumMap<>(RollupSubject.class);
+			for (final RollupSubject subject : RollupSubject.values())
+				days.put(subject, this.dirty.getOrDefault(subject, Collections.emptySet()));
+			this.dirty.clear();
+		}
+
+		// The days are recomputed by a later run if this one does not commit.
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(final int status) {
+					if (status != TransactionSynchronization.STATUS_COMMITTED)
+						DailyRollupMaintainer.this.markDirty(days);
+				}
+			});
+
+		for (final RollupSubject subject : RollupSubject.values())
+			this.roll(subject, days.get(subject));
+	}
+
+	// Marks every day from the given one to today to be recomputed by the next run.
+	public synchronized void restate(final Date since) {
+		assert since != null;
+
+		Date day;
+		Date today;
+
+		today = DateUtils.truncate(new Date(), Calendar.DATE);
+		for (day = DateUtils.truncate(since, Calendar.DATE); !day.after(today); day = DateUtils.addDays(day, 1))
+			for (final RollupSubject subject : RollupSubject.values())
+				this.dirty.computeIfAbsent(subject, s -> new HashSet<>()).add(day.getTime());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onItemChanged(final ItemChangedEvent event) {
+		assert event != null;
+
+		if (event.getPrevious() != null)
+			this.markDirty(RollupSubject.ITEM, event.getPrevious().getCreationMoment());
+		if (event.getCurrent() != null)
+			this.markDirty(RollupSubject.ITEM, event.getCurrent().getCreationMoment());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onPatronageChanged(final PatronageChangedEvent event) {
+		assert event != null;
+
+		if (event.getPrevious() != null)
+			this.markDirty(RollupSubject.PATRONAGE, event.getPrevious().getCreationMoment());
+		if (event.getCurrent() != null)
+			this.markDirty(RollupSubject.PATRONAGE, event.getCurrent().getCreationMoment());
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected synchronized void markDirty(final RollupSubject subject, final Date moment) {
+		if (moment != null)
+			this.dirty.computeIfAbsent(subject, s -> new HashSet<>()).add(DailyRollupMaintainer.toDay(moment));
+	}
+
+	protected synchronized void markDirty(final Map<RollupSubject, Set<Long>> days) {
+		for (final Map.Entry<RollupSubject, Set<Long>> entry : days.entrySet())
+			this.dirty.computeIfAbsent(entry.getKey(), s -> new HashSet<>()).addAll(entry.getValue());
+	}
+
+	protected void roll(final RollupSubject subject, final Set<Long> dirtyDays) {
+		RollupWatermark watermark;
+		Object[] range;
+		Date after;
+		Date until;
+
+		this.recompute(subject, dirtyDays);
+
+		range = (subject == RollupSubject.ITEM ? this.repository.findItemCreationRange() : this.repository.findPatronageCreationRange()).get(0);
+		if (range[1] == null)
+			return;
+
+		watermark = this.repository.findWatermarkBySubject(subject);
+		if (watermark == null) {
+			watermark = new RollupWatermark();
+			watermark.setSubject(subject);
+			after = new Date(((Date) range[0]).getTime() - 1);
+		} else
+			after = watermark.getMoment();
+		until = new Date(((Date) range[1]).getTime());
+
+		if (until.after(after)) {
+			this.fold(subject, after, until, dirtyDays, watermark.getMoment() != null);
+			watermark.setMoment(until);
+			this.repository.save(watermark);
+		}
+	}
+
+	protected void recompute(final RollupSubject subject, final Set<Long> days) {
+		List<Date> dates;
+		List<Object[]> rows;
+
+		if (days.isEmpty())
+			return;
+
+		dates = new ArrayList<>(days.size());
+		for (final Long day : days)
+			dates.add(new Date(day));
+		this.repository.deleteRollupsBySubjectAndDates(subject, dates);
+
+		for (final Date start : dates) {
+			final Date end = DateUtils.addDays(start, 1);
+
+			rows = subject == RollupSubject.ITEM ? this.repository.findManyItemTotalsCreatedWithin(start, end) : this.repository.findManyPatronageTotalsCreatedWithin(start, end);
+			for (final Object[] row : rows) {
+				final DailyRollup rollup = DailyRollupMaintainer.newRollup(subject, start.getTime(), row[0].toString(), (String) row[1]);
+
+				rollup.setNumber(((Number) row[2]).longValue());
+				rollup.setTotal(((Number) row[3]).doubleValue());
+				this.repository.save(rollup);
+			}
+		}
+	}
+
+	// Adds the rows created after the first moment and up to the second one to the rollups of their
+	// days, except for the days that have just been recomputed.
+	protected void fold(final RollupSubject subject, final Date after, final Date until, final Set<Long> skipped, final boolean existing) {
+		Map<String, DailyRollup> rollups;
+		Set<Date> dates;
+
+		rollups = new HashMap<>();
+		dates = new HashSet<>();
+		try (Stream<Object[]> rows = subject == RollupSubject.ITEM ? this.repository.findManyItemsCreatedBetween(after, until) : this.repository.findManyPatronagesCreatedBetween(after, until)) {
+			rows.forEach(row -> {
+				final long day = DailyRollupMaintainer.toDay((Date) row[0]);
+				final DailyRollup rollup;
+
+				if (!skipped.contains(day)) {
+					rollup = rollups.computeIfAbsent(DailyRollupMaintainer.key(day, row[1].toString(), (String) row[2]), k -> DailyRollupMaintainer.newRollup(subject, day, row[1].toString(), (String) row[2]));
+					rollup.setNumber(rollup.getNumber() + 1);
+					rollup.setTotal(rollup.getTotal() + ((Number) row[3]).doubleValue());
+					dates.add(rollup.getDate());
+				}
+			});
+		}
+
+		// The rows of the day of the watermark were added to its rollups by earlier runs.
+		if (existing && !dates.isEmpty())
+			for (final DailyRollup stored : this.repository.findManyRollupsBySubjectAndDates(subject, dates)) {
+				final DailyRollup added = rollups.remove(DailyRollupMaintainer.key(stored.getDate().getTime(), stored.getCategory(), stored.getCurrency()));
+
+				if (added != null) {
+					stored.setNumber(stored.getNumber() + added.getNumber());
+					stored.setTotal(stored.getTotal() + added.getTotal());
+					this.repository.save(stored);
+				}
+			}
+
+		for (final DailyRollup rollup : rollups.values())
+			this.repository.save(rollup);
+	}
+
+	protected static DailyRollup newRollup(final RollupSubject subject, final long day, final String category, final String currency) {
+		DailyRollup result;
+
+		result = new DailyRollup();
+		result.setSubject(subject);
+		result.setDate(new Date(day));
+		result.setCategory(category);
+		result.setCurrency(currency);
+
+		return result;
+	}
+
+	protected static String key(final long day, final String category, final String currency) {
+		return day + ", " + category + ", " + currency;
+	}
+
+	protected static long toDay(final Date moment) {
+		return DateUtils.truncate(moment, Calendar.DATE).getTime();
+	}
+
+}
@@ -0,0 +1,71 @@
+package acme.components;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/*
+ * Runs the DailyRollupMaintainer in the background every rollup period. The days shown by the
+ * trends are recomputed on start-up, since the changes made while the application was down are
+ * not known.
+ */
+@Component
+public class DailyRollupRefresher {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected DailyRollupMaintainer		maintainer;
+
+	@Value("${acme.dashboards.rollups.period:15}")
+	protected long						period;
+
+	@Value("${acme.dashboards.trends.days:90}")
+	protected int						trendDays;
+
+	protected ScheduledExecutorService	executor;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread result;
+
+			result = new Thread(runnable, "daily-rollup-refresher");
+			result.setDaemon(true);
+
+			return result;
+		});
+		this.maintainer.restate(DateUtils.addDays(new Date(), -this.trendDays));
+		this.executor.scheduleWithFixedDelay(this::refresh, 0, this.period, TimeUnit.MINUTES);
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		if (this.executor != null)
+			this.executor.shutdownNow();
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void refresh() {
+		try {
+			this.maintainer.roll();
+		} catch (final RuntimeException oops) {
+			// A failed run must not cancel the next ones; its days are recomputed by them.
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package acme.components;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import acme.entities.DailyRollup;
+import acme.entities.RollupSubject;
+import acme.entities.RollupWatermark;
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface DailyRollupRepository extends AbstractRepository {
+
+	@Query("select w from RollupWatermark w where w.subject = :subject")
+	RollupWatermark findWatermarkBySubject(RollupSubject subject);
+
+	@Query("select r from DailyRollup r where r.subject = :subject and r.date in :dates")
+	List<DailyRollup> findManyRollupsBySubjectAndDates(RollupSubject subject, Collection<Date> dates);
+
+	@Modifying
+	@Query("delete from DailyRollup r where r.subject = :subject and r.date in :dates")
+	int deleteRollupsBySubjectAndDates(RollupSubject subject, Collection<Date> dates);
+
+	// Items: creation moment, type, currency, price
+
+	@Query("select min(i.creationMoment), max(i.creationMoment) from Item i")
+	List<Object[]> findItemCreationRange();
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select i.creationMoment, i.type, i.retailPrice.currency, i.retailPrice.amount from Item i where i.creationMoment > :after and i.creationMoment <= :until")
+	Stream<Object[]> findManyItemsCreatedBetween(Date after, Date until);
+
+	@Query("select i.type, i.retailPrice.currency, count(i), sum(i.retailPrice.amount) from Item i where i.creationMoment >= :start and i.creationMoment < :end group by i.type, i.retailPrice.currency")
+	List<Object[]> findManyItemTotalsCreatedWithin(Date start, Date end);
+
+	// Patronages: creation moment, status, currency, budget
+
+	@Query("select min(p.creationMoment), max(p.creationMoment) from Patronage p")
+	List<Object[]> findPatronageCreationRange();
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select p.creationMoment, p.status, p.budget.currency, p.budget.amount from Patronage p where p.creationMoment > :after and p.creationMoment <= :until")
+	Stream<Object[]> findManyPatronagesCreatedBetween(Date after, Date until);
+
+	@Query("select p.status, p.budget.currency, count(p), sum(p.budget.amount) from Patronage p where p.creationMoment >= :start and p.creationMoment < :end group by p.status, p.budget.currency")
+	List<Object[]> findManyPatronageTotalsCreatedWithin(Date start, Date end);
+
+}
@@ -0,0 +1,205 @@
+package acme.components;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import acme.entities.Chimpum;
+import acme.entities.Item;
+import acme.entities.ItemType;
+import acme.entities.Patronage;
+import acme.entities.PatronageStatus;
+
+/*
+ * Publishes the changes made to items, patronages and chimpums by the feature services, so that
+ * the components that keep statistics about them can update them with deltas. Each event carries
+ * the state before the change and the state after it, both read in the current transaction. The
+ * previous state is the one recorded when the entity was loaded or last published in the
+ * transaction; otherwise it is read from the database without flushing, so the methods must be
+ * called before the entity is saved or deleted. Services whose validation runs queries after
+ * binding, which may flush the changes, must record the entity when they load it. Listeners should
+ * react after the commit, so that rolled back changes are never applied.
+ */
+@Component
+public class EntityChangePublisher {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected EntityChangeRepository	repository;
+
+	@Autowired
+	protected ApplicationEventPublisher	publisher;
+
+	// Business methods -------------------------------------------------------
+
+
+	// Must be called as soon as the item is loaded, before it is changed.
+	public void onItemLoaded(final Item item) {
+		assert item != null;
+
+		this.record(Item.class, item.getId(), ItemChangedEvent.State.of(item));
+	}
+
+	// Must be called as soon as the patronage is loaded, before it is changed.
+	public void onPatronageLoaded(final Patronage patronage) {
+		assert patronage != null;
+
+		this.record(Patronage.class, patronage.getId(), PatronageChangedEvent.State.of(patronage));
+	}
+
+	// Must be called as soon as the chimpum is loaded, before it is changed.
+	public void onChimpumLoaded(final Chimpum chimpum) {
+		assert chimpum != null;
+
+		this.record(Chimpum.class, chimpum.getId(), ChimpumChangedEvent.State.of(chimpum));
+	}
+
+	// Must be called before the item is saved.
+	public void onItemSaved(final Item item) {
+		assert item != null;
+
+		this.publishItemChange(item, ItemChangedEvent.State.of(item));
+	}
+
+	// Must be called before the item is deleted.
+	public void onItemDeleted(final Item item) {
+		assert item != null;
+
+		this.publishItemChange(item, null);
+	}
+
+	// Must be called before the patronage is saved.
+	public void onPatronageSaved(final Patronage patronage) {
+		assert patronage != null;
+
+		this.publishPatronageChange(patronage, PatronageChangedEvent.State.of(patronage));
+	}
+
+	// Must be called before the patronage is deleted.
+	public void onPatronageDeleted(final Patronage patronage) {
+		assert patronage != null;
+
+		this.publishPatronageChange(patronage, null);
+	}
+
+	// Must be called before the chimpum is saved.
+	public void onChimpumSaved(final Chimpum chimpum) {
+		assert chimpum != null;
+
+		this.publishChimpumChange(chimpum, ChimpumChangedEvent.State.of(chimpum));
+	}
+
+	// Must be called before the chimpum is deleted.
+	public void onChimpumDeleted(final Chimpum chimpum) {
+		assert chimpum != null;
+
+		this.publishChimpumChange(chimpum, null);
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void publishItemChange(final Item item, final ItemChangedEvent.State current) {
+		ItemChangedEvent.State previous;
+
+		previous = this.previous(Item.class, item.getId(), () -> {
+			final List<Object[]> stored = this.repository.findStoredItemStateById(item.getId());
+			final Object[] row = stored.isEmpty() ? null : stored.get(0);
+
+			return row == null ? null : new ItemChangedEvent.State((ItemType) row[0], (String) row[1], (String) row[2], ((Number) row[3]).doubleValue(), (Boolean) row[4], ((Number) row[5]).intValue() != 0, (Date) row[6]);
+		});
+		this.record(Item.class, item.getId(), current);
+
+		if (previous == null ? current != null : !previous.sameAs(current))
+			this.publisher.publishEvent(new ItemChangedEvent(previous, current));
+	}
+
+	protected void publishPatronageChange(final Patronage patronage, final PatronageChangedEvent.State current) {
+		PatronageChangedEvent.State previous;
+
+		previous = this.previous(Patronage.class, patronage.getId(), () -> {
+			final List<Object[]> stored = this.repository.findStoredPatronageStateById(patronage.getId());
+			final Object[] row = stored.isEmpty() ? null : stored.get(0);
+
+			return row == null ? null : new PatronageChangedEvent.State((Integer) row[0], (PatronageStatus) row[1], (String) row[2], ((Number) row[3]).doubleValue(), (Boolean) row[4], (Date) row[5]);
+		});
+		this.record(Patronage.class, patronage.getId(), current);
+
+		if (previous == null ? current != null : !previous.sameAs(current))
+			this.publisher.publishEvent(new PatronageChangedEvent(previous, current));
+	}
+
+	protected void publishChimpumChange(final Chimpum chimpum, final ChimpumChangedEvent.State current) {
+		ChimpumChangedEvent.State previous;
+
+		previous = this.previous(Chimpum.class, chimpum.getId(), () -> {
+			final List<Object[]> stored = this.repository.findStoredChimpumStateById(chimpum.getId());
+			final Object[] row = stored.isEmpty() ? null : stored.get(0);
+
+			return row == null ? null : new ChimpumChangedEvent.State((String) row[0], ((Number) row[1]).doubleValue());
+		});
+		this.record(Chimpum.class, chimpum.getId(), current);
+
+		if (previous == null ? current != null : !previous.sameAs(current))
+			this.publisher.publishEvent(new ChimpumChangedEvent(previous, current));
+	}
+
+	// Returns the state recorded for the entity in the current transaction or, if there is none, the
+	// stored one; new entities have no previous state.
+	@SuppressWarnings("unchecked")
+	protected <S> S previous(final Class<?> type, final int id, final Supplier<S> stored) {
+		Map<Pair<Class<?>, Integer>, Object> states;
+		Pair<Class<?>, Integer> key;
+
+		if (id == 0)
+			return null;
+
+		states = this.getRecordedStates();
+		key = Pair.of(type, id);
+
+		return states != null && states.containsKey(key) ? (S) states.get(key) : stored.get();
+	}
+
+	protected void record(final Class<?> type, final int id, final Object state) {
+		Map<Pair<Class<?>, Integer>, Object> states;
+
+		states = this.getRecordedStates();
+		if (id != 0 && states != null)
+			states.put(Pair.of(type, id), state);
+	}
+
+	// The states recorded in the current transaction, which are dropped when it completes, or null
+	// outside transactions.
+	@SuppressWarnings("unchecked")
+	protected Map<Pair<Class<?>, Integer>, Object> getRecordedStates() {
+		Map<Pair<Class<?>, Integer>, Object> result;
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			return null;
+
+		result = (Map<Pair<Class<?>, Integer>, Object>) TransactionSynchronizationManager.getResource(this);
+		if (result == null) {
+			result = new HashMap<>();
+			TransactionSynchronizationManager.bindResource(this, result);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(final int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(EntityChangePublisher.this);
+				}
+			});
+		}
+
+		return result;
+	}
+
+}
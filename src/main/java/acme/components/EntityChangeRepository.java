@@ -0,0 +1,30 @@
+package acme.components;
+
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface EntityChangeRepository extends AbstractRepository {
+
+	// The following queries must not flush pending changes, since they read the values stored before them.
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query("select i.type, i.technology, i.retailPrice.currency, i.retailPrice.amount, i.published, case when i.chimpum is null then 0 else 1 end, i.creationMoment from Item i where i.id = :id")
+	List<Object[]> findStoredItemStateById(int id);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query("select p.patron.id, p.status, p.budget.currency, p.budget.amount, p.published, p.creationMoment from Patronage p where p.id = :id")
+	List<Object[]> findStoredPatronageStateById(int id);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query("select c.budget.currency, c.budget.amount from Chimpum c where c.id = :id")
+	List<Object[]> findStoredChimpumStateById(int id);
+
+}
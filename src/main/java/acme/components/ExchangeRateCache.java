@@ -0,0 +1,389 @@
+package acme.components;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import acme.entities.MoneyExchangeCache;
+import acme.forms.MoneyExchange;
+import acme.framework.datatypes.Money;
+import acme.framework.helpers.StringHelper;
+
+/*
+ * Process-wide cache of exchange rates. Rates are kept in memory per (source, target) pair, so the
+ * read path does not touch the database for pairs that were seen recently. On a miss, the cache reads
+ * through to the MoneyExchangeCache rows and, if they are stale, to the ExchangeRateProvider; new rates
+ * are written back to the database asynchronously, and an ExchangeRateChangedEvent is published when
+ * the persisted rate of a pair changes.
+ *
+ * Loads are single-flight: only the first caller that finds a pair missing or expired loads it, while
+ * concurrent callers are served the previous rate or, if there is none, wait for the same load.
+ *
+ * Warming the cache fetches the rates of every accepted currency against the system currency in a
+ * single request; the resulting table is used to derive every other pair, including cross rates.
+ *
+ * Rates are renewed in the background by the ExchangeRateRefresher. Under the SERVE_STALE policy an
+ * expired rate is still served until the refresher replaces it; under FETCH it is reloaded inline.
+ * Pairs that have never been seen are always loaded inline. Conversions as of a past date, e.g., an
+ * item's exchange date, are served from the ExchangeRateHistory.
+ */
+@Service
+public class ExchangeRateCache {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected MoneyExchangeCacheRepository								repository;
+
+	@Autowired
+	protected ExchangeRateProvider										provider;
+
+	@Autowired
+	protected ApplicationEventPublisher									publisher;
+
+	@Autowired
+	protected ExchangeRateHistory										history;
+
+	@Autowired
+	protected SystemConfigurationCache									configuration;
+
+	@Value("${acme.exchange-rates.time-to-live:30}")
+	protected long														timeToLive;
+
+	@Value("${acme.exchange-rates.staleness-policy:SERVE_STALE}")
+	protected StalenessPolicy											stalenessPolicy;
+
+	protected final ConcurrentMap<String, Rate>							rates	= new ConcurrentHashMap<>();
+
+	protected final ConcurrentMap<String, CompletableFuture<Rate>>	loads	= new ConcurrentHashMap<>();
+
+	protected ExecutorService											writer;
+
+	protected volatile ExchangeRateTable								table;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@PostConstruct
+	protected void initialise() {
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread result;
+
+			result = new Thread(runnable, "exchange-rate-writer");
+			result.setDaemon(true);
+
+			return result;
+		});
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		this.writer.shutdown();
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public MoneyExchange getConversion(final Money source, final String targetCurrency) {
+		assert source != null;
+		assert !StringHelper.isBlank(targetCurrency);
+
+		MoneyExchange result;
+		Rate rate;
+
+		rate = this.currentRate(source.getCurrency(), targetCurrency);
+		if (rate == null)
+			result = null;
+		else
+			result = CalculateMoneyExchange.calculateMoneyExchange(source, targetCurrency, rate.getValue(), rate.getDate());
+
+		return result;
+	}
+
+	// Returns the current rate from the source to the target currency, or null if it is unknown.
+	public Double getRate(final String sourceCurrency, final String targetCurrency) {
+		assert !StringHelper.isBlank(sourceCurrency);
+		assert !StringHelper.isBlank(targetCurrency);
+
+		Double result;
+		Rate rate;
+
+		if (sourceCurrency.equals(targetCurrency))
+			result = 1.0;
+		else {
+			rate = this.currentRate(sourceCurrency, targetCurrency);
+			result = rate == null ? null : rate.getValue();
+		}
+
+		return result;
+	}
+
+	// Converts the given money with the rate in force on the given date, or with the current rate if
+	// the date is today or precedes every rate in the history; returns null if no rate is known.
+	public MoneyExchange getConversion(final Money source, final String targetCurrency, final Date date) {
+		assert source != null;
+		assert !StringHelper.isBlank(targetCurrency);
+		assert date != null;
+
+		MoneyExchange result;
+		Calendar moment;
+
+		moment = Calendar.getInstance();
+		moment.setTime(date);
+
+		result = Boolean.TRUE.equals(CalculateMoneyExchange.checkDate(moment)) ? null : this.history.getConversion(source, targetCurrency, date);
+		if (result == null)
+			result = this.getConversion(source, targetCurrency);
+
+		return result;
+	}
+
+	public boolean warmUp() {
+		boolean result;
+		SystemConfigurationSnapshot configuration;
+		String baseCurrency;
+		List<String> currencies;
+		ExchangeRate record;
+		ExchangeRateTable table;
+		Rate rate;
+		Double value;
+
+		configuration = this.configuration.get();
+		baseCurrency = configuration.getSystemCurrency();
+		currencies = new ArrayList<>(configuration.getAcceptedCurrencies());
+		if (StringHelper.isBlank(baseCurrency) || currencies.isEmpty())
+			result = false;
+		else {
+			record = this.provider.getRates(baseCurrency, currencies);
+			result = record != null;
+
+			if (result) {
+				table = new ExchangeRateTable(record);
+				this.table = table;
+
+				for (final String source : currencies)
+					for (final String target : currencies) {
+						value = table.getRate(source, target);
+						if (value != null && !source.equals(target)) {
+							rate = this.newRate(value, table.getDate());
+							this.rates.put(ExchangeRateCache.computeKey(source, target), rate);
+							this.writeBack(source, target, rate);
+						}
+					}
+			}
+		}
+
+		return result;
+	}
+
+	public void refreshAll() {
+		Set<String> pairs;
+		String[] currencies;
+		Rate rate;
+
+		this.warmUp();
+
+		pairs = new HashSet<>(this.rates.keySet());
+		for (final MoneyExchangeCache cache : this.repository.findManyCaches())
+			pairs.add(ExchangeRateCache.computeKey(cache.getSource(), cache.getTarget()));
+
+		for (final String pair : pairs) {
+			currencies = pair.split("/");
+			rate = this.rates.get(pair);
+			if (rate == null || rate.isExpired())
+				this.refresh(currencies[0], currencies[1], rate, true);
+		}
+	}
+
+	public void evict(final String sourceCurrency, final String targetCurrency) {
+		this.rates.remove(ExchangeRateCache.computeKey(sourceCurrency, targetCurrency));
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected Rate currentRate(final String sourceCurrency, final String targetCurrency) {
+		Rate result;
+
+		result = this.rates.get(ExchangeRateCache.computeKey(sourceCurrency, targetCurrency));
+		if (result == null || result.isExpired() && this.stalenessPolicy == StalenessPolicy.FETCH)
+			result = this.refresh(sourceCurrency, targetCurrency, result, false);
+
+		return result;
+	}
+
+	protected Rate refresh(final String sourceCurrency, final String targetCurrency, final Rate previous, final boolean force) {
+		Rate result;
+		String key;
+		CompletableFuture<Rate> load, existing;
+
+		key = ExchangeRateCache.computeKey(sourceCurrency, targetCurrency);
+		load = new CompletableFuture<>();
+		existing = this.loads.putIfAbsent(key, load);
+
+		if (existing != null)
+			result = previous != null ? previous : existing.join();
+		else
+			try {
+				result = this.load(sourceCurrency, targetCurrency, force);
+				load.complete(result);
+			} catch (final RuntimeException oops) {
+				load.completeExceptionally(oops);
+				throw oops;
+			} finally {
+				this.loads.remove(key, load);
+			}
+
+		if (result == null)
+			result = previous;
+
+		return result;
+	}
+
+	protected Rate load(final String sourceCurrency, final String targetCurrency, final boolean force) {
+		Rate result;
+		List<MoneyExchangeCache> caches;
+		MoneyExchangeCache cache;
+		ExchangeRateTable table;
+		Double value;
+		ExchangeRate record;
+
+		caches = this.repository.findManyCachesBySourceAndTarget(sourceCurrency, targetCurrency);
+		cache = caches.isEmpty() ? null : caches.get(0);
+		table = this.table;
+		value = table != null && table.isFresh() ? table.getRate(sourceCurrency, targetCurrency) : null;
+		if (!force && cache != null && Boolean.TRUE.equals(CalculateMoneyExchange.checkCache(cache)))
+			result = this.newRate(cache.getRate(), cache.getDate().getTime());
+		else if (value != null) {
+			result = this.newRate(value, table.getDate());
+			this.writeBack(sourceCurrency, targetCurrency, result);
+		} else {
+			record = this.provider.getRates(sourceCurrency, Collections.singletonList(targetCurrency));
+			value = record == null ? null : record.getRates().get(targetCurrency);
+			if (value == null)
+				// The provider is unavailable: fall back to the last known rate, if any.
+				result = cache == null ? this.lastKnownRate(sourceCurrency, targetCurrency) : this.newRate(cache.getRate(), cache.getDate().getTime());
+			else {
+				result = this.newRate(value, record.getDate());
+				this.writeBack(sourceCurrency, targetCurrency, result);
+			}
+		}
+
+		if (result != null)
+			this.rates.put(ExchangeRateCache.computeKey(sourceCurrency, targetCurrency), result);
+
+		return result;
+	}
+
+	protected Rate lastKnownRate(final String sourceCurrency, final String targetCurrency) {
+		Rate result;
+		Money unit;
+		MoneyExchange exchange;
+
+		unit = new Money();
+		unit.setAmount(1.0);
+		unit.setCurrency(sourceCurrency);
+		exchange = this.history.getConversion(unit, targetCurrency, new Date());
+		result = exchange == null ? null : this.newRate(exchange.getRate(), exchange.getDate());
+
+		return result;
+	}
+
+	protected void writeBack(final String sourceCurrency, final String targetCurrency, final Rate rate) {
+		this.writer.execute(() -> {
+			List<MoneyExchangeCache> caches;
+			MoneyExchangeCache cache;
+			Calendar date;
+			boolean changed;
+
+			caches = this.repository.findManyCachesBySourceAndTarget(sourceCurrency, targetCurrency);
+			if (caches.isEmpty())
+				cache = new MoneyExchangeCache();
+			else {
+				cache = caches.get(0);
+				this.repository.deleteAll(caches.subList(1, caches.size()));
+			}
+			date = Calendar.getInstance();
+			date.setTime(rate.getDate());
+			changed = cache.getRate() == null || cache.getRate() != rate.getValue() || !date.equals(cache.getDate());
+
+			cache.setSource(sourceCurrency);
+			cache.setTarget(targetCurrency);
+			cache.setRate(rate.getValue());
+			cache.setDate(date);
+			this.repository.save(cache);
+
+			if (changed)
+				this.publisher.publishEvent(new ExchangeRateChangedEvent(sourceCurrency, targetCurrency, rate.getValue(), rate.getDate()));
+		});
+	}
+
+	protected Rate newRate(final double value, final Date date) {
+		Rate result;
+		Calendar midnight;
+		long expiration;
+
+		midnight = Calendar.getInstance();
+		midnight.add(Calendar.DATE, 1);
+		midnight.set(Calendar.HOUR_OF_DAY, 0);
+		midnight.set(Calendar.MINUTE, 0);
+		midnight.set(Calendar.SECOND, 0);
+		midnight.set(Calendar.MILLISECOND, 0);
+
+		expiration = Math.min(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(this.timeToLive), midnight.getTimeInMillis());
+		result = new Rate(value, date, expiration);
+
+		return result;
+	}
+
+	protected static String computeKey(final String sourceCurrency, final String targetCurrency) {
+		return sourceCurrency + "/" + targetCurrency;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+
+	protected static final class Rate {
+
+		private final double	value;
+		private final Date		date;
+		private final long		expiration;
+
+
+		protected Rate(final double value, final Date date, final long expiration) {
+			this.value = value;
+			this.date = new Date(date.getTime());
+			this.expiration = expiration;
+		}
+
+		public double getValue() {
+			return this.value;
+		}
+
+		public Date getDate() {
+			return new Date(this.date.getTime());
+		}
+
+		public boolean isExpired() {
+			return System.currentTimeMillis() >= this.expiration;
+		}
+
+	}
+
+}
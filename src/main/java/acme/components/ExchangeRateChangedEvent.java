@@ -0,0 +1,45 @@
+package acme.components;
+
+import java.util.Date;
+
+/*
+ * Published by the ExchangeRateCache whenever the persisted rate of a pair changes.
+ */
+public class ExchangeRateChangedEvent {
+
+	// Internal state ---------------------------------------------------------
+
+	private final String	sourceCurrency;
+	private final String	targetCurrency;
+	private final double	rate;
+	private final Date		date;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public ExchangeRateChangedEvent(final String sourceCurrency, final String targetCurrency, final double rate, final Date date) {
+		this.sourceCurrency = sourceCurrency;
+		this.targetCurrency = targetCurrency;
+		this.rate = rate;
+		this.date = new Date(date.getTime());
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public String getSourceCurrency() {
+		return this.sourceCurrency;
+	}
+
+	public String getTargetCurrency() {
+		return this.targetCurrency;
+	}
+
+	public double getRate() {
+		return this.rate;
+	}
+
+	public Date getDate() {
+		return new Date(this.date.getTime());
+	}
+
+}
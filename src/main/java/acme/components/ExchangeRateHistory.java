@@ -0,0 +1,117 @@
+package acme.components;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import acme.entities.MoneyExchangeHistory;
+import acme.forms.MoneyExchange;
+import acme.framework.datatypes.Money;
+import acme.framework.helpers.StringHelper;
+
+/*
+ * Append-only history of exchange rates, with one MoneyExchangeHistory row per pair and day. Each
+ * pair is loaded once into a sorted map keyed by day, so that the rate in force on any date is
+ * found in O(log n) without database or network access; later rates are appended as they change,
+ * to the map only once they are stored, by this node or by another one.
+ */
+@Service
+public class ExchangeRateHistory {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected ExchangeRateHistoryRepository									repository;
+
+	protected final ConcurrentMap<String, NavigableMap<Long, Double>>	series	= new ConcurrentHashMap<>();
+
+	// Business methods -------------------------------------------------------
+
+
+	// Returns null if no rate is stored on or before the day of the given date.
+	public MoneyExchange getConversion(final Money source, final String targetCurrency, final Date date) {
+		assert source != null;
+		assert !StringHelper.isBlank(targetCurrency);
+		assert date != null;
+
+		MoneyExchange result;
+		Map.Entry<Long, Double> entry;
+
+		entry = this.getSeries(source.getCurrency(), targetCurrency).floorEntry(ExchangeRateHistory.toDay(date));
+		if (entry == null)
+			result = null;
+		else
+			result = CalculateMoneyExchange.calculateMoneyExchange(source, targetCurrency, entry.getValue(), new Date(entry.getKey()));
+
+		return result;
+	}
+
+	@EventListener
+	public void onRateChange(final ExchangeRateChangedEvent event) {
+		assert event != null;
+
+		final NavigableMap<Long, Double> series;
+		final long day;
+		MoneyExchangeHistory history;
+
+		series = this.getSeries(event.getSourceCurrency(), event.getTargetCurrency());
+		day = ExchangeRateHistory.toDay(event.getDate());
+
+		if (series.containsKey(day))
+			return;
+
+		if (this.repository.countRatesBySourceAndTargetAndDate(event.getSourceCurrency(), event.getTargetCurrency(), new Date(day)) == 0) {
+			history = new MoneyExchangeHistory();
+			history.setSource(event.getSourceCurrency());
+			history.setTarget(event.getTargetCurrency());
+			history.setDate(new Date(day));
+			history.setRate(event.getRate());
+			try {
+				this.repository.save(history);
+			} catch (final DataIntegrityViolationException oops) {
+				// Another node stored the same day in between, so it is already stored.
+			}
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					series.putIfAbsent(day, event.getRate());
+				}
+			});
+		else
+			series.putIfAbsent(day, event.getRate());
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected NavigableMap<Long, Double> getSeries(final String sourceCurrency, final String targetCurrency) {
+		return this.series.computeIfAbsent(ExchangeRateCache.computeKey(sourceCurrency, targetCurrency), key -> {
+			final NavigableMap<Long, Double> result = new ConcurrentSkipListMap<>();
+
+			for (final Object[] row : this.repository.findManyRatesBySourceAndTarget(sourceCurrency, targetCurrency))
+				result.put(ExchangeRateHistory.toDay((Date) row[0]), (Double) row[1]);
+
+			return result;
+		});
+	}
+
+	protected static long toDay(final Date date) {
+		return DateUtils.truncate(date, Calendar.DATE).getTime();
+	}
+
+}
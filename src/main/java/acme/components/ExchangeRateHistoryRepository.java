@@ -0,0 +1,20 @@
+package acme.components;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface ExchangeRateHistoryRepository extends AbstractRepository {
+
+	@Query("select h.date, h.rate from MoneyExchangeHistory h where h.source = :sourceCurrency and h.target = :targetCurrency order by h.date")
+	List<Object[]> findManyRatesBySourceAndTarget(String sourceCurrency, String targetCurrency);
+
+	@Query("select count(h) from MoneyExchangeHistory h where h.source = :sourceCurrency and h.target = :targetCurrency and h.date = :date")
+	long countRatesBySourceAndTargetAndDate(String sourceCurrency, String targetCurrency, Date date);
+
+}
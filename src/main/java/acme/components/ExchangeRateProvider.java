@@ -0,0 +1,14 @@
+package acme.components;
+
+import java.util.Collection;
+
+/*
+ * Source of exchange rates. Implementations return the rates of the target currencies against the
+ * base currency, or null if they are not available. The implementation in use is chosen by the
+ * acme.exchange-rates.provider property, which is set in each application-*.properties profile.
+ */
+public interface ExchangeRateProvider {
+
+	ExchangeRate getRates(String baseCurrency, Collection<String> targetCurrencies);
+
+}
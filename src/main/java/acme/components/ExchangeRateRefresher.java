@@ -0,0 +1,101 @@
+package acme.components;
+
+import java.util.Calendar;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/*
+ * Renews every exchange rate in the background, so that request handlers only read cached rates.
+ * Runs happen every refresh period and right after each day boundary, each one delayed by a random
+ * jitter so that several instances do not hit the exchange-rate API at the same time.
+ */
+@Component
+public class ExchangeRateRefresher {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected ExchangeRateCache			exchangeRates;
+
+	@Autowired
+	protected ItemPriceMaterialiser		materialiser;
+
+	@Autowired
+	protected ToolkitPriceMaintainer	toolkitPrices;
+
+	@Value("${acme.exchange-rates.refresh-period:60}")
+	protected long						refreshPeriod;
+
+	@Value("${acme.exchange-rates.refresh-jitter:120}")
+	protected long						refreshJitter;
+
+	protected ScheduledExecutorService	executor;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread result;
+
+			result = new Thread(runnable, "exchange-rate-refresher");
+			result.setDaemon(true);
+
+			return result;
+		});
+		this.executor.execute(() -> {
+			this.refresh();
+			this.materialiser.materialiseAll();
+			this.toolkitPrices.checkConsistency(true);
+		});
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		if (this.executor != null)
+			this.executor.shutdownNow();
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void refresh() {
+		try {
+			this.exchangeRates.refreshAll();
+		} catch (final RuntimeException oops) {
+			// A failed run must not cancel the next ones; stale rates are kept meanwhile.
+		} finally {
+			this.schedule();
+		}
+	}
+
+	protected void schedule() {
+		long now, delay, jitter;
+		Calendar midnight;
+
+		now = System.currentTimeMillis();
+		midnight = Calendar.getInstance();
+		midnight.add(Calendar.DATE, 1);
+		midnight.set(Calendar.HOUR_OF_DAY, 0);
+		midnight.set(Calendar.MINUTE, 0);
+		midnight.set(Calendar.SECOND, 0);
+		midnight.set(Calendar.MILLISECOND, 0);
+
+		delay = Math.min(TimeUnit.MINUTES.toMillis(this.refreshPeriod), midnight.getTimeInMillis() - now);
+		jitter = this.refreshJitter > 0 ? ThreadLocalRandom.current().nextLong(TimeUnit.SECONDS.toMillis(this.refreshJitter)) : 0;
+
+		if (!this.executor.isShutdown())
+			this.executor.schedule(this::refresh, delay + jitter, TimeUnit.MILLISECONDS);
+	}
+
+}
@@ -0,0 +1,80 @@
+package acme.components;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import acme.framework.helpers.StringHelper;
+
+/*
+ * Immutable matrix of exchange rates, built from a single batch of rates quoted against a base
+ * currency. Any pair of currencies in the batch can be converted, either directly from the base
+ * or through a cross rate via the base.
+ */
+public class ExchangeRateTable {
+
+	// Internal state ---------------------------------------------------------
+
+	private final String				base;
+	private final Map<String, Double>	rates;
+	private final Date					date;
+	private final Calendar				moment;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public ExchangeRateTable(final ExchangeRate record) {
+		assert record != null;
+		assert !StringHelper.isBlank(record.getBase());
+		assert record.getRates() != null;
+		assert record.getDate() != null;
+
+		Map<String, Double> rates;
+
+		rates = new HashMap<>(record.getRates());
+		rates.put(record.getBase(), 1.0);
+
+		this.base = record.getBase();
+		this.rates = Collections.unmodifiableMap(rates);
+		this.date = new Date(record.getDate().getTime());
+		this.moment = Calendar.getInstance();
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public String getBase() {
+		return this.base;
+	}
+
+	public Date getDate() {
+		return new Date(this.date.getTime());
+	}
+
+	public Map<String, Double> getRates() {
+		return this.rates;
+	}
+
+	public boolean isFresh() {
+		return CalculateMoneyExchange.checkDate(this.moment);
+	}
+
+	public Double getRate(final String sourceCurrency, final String targetCurrency) {
+		Double result;
+		Double source, target;
+
+		source = this.rates.get(sourceCurrency);
+		target = this.rates.get(targetCurrency);
+
+		if (source == null || target == null || source == 0.0)
+			result = null;
+		else if (sourceCurrency.equals(targetCurrency))
+			result = 1.0;
+		else
+			result = target / source;
+
+		return result;
+	}
+
+}
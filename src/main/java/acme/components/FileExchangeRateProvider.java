@@ -0,0 +1,174 @@
+package acme.components;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import acme.framework.helpers.StringHelper;
+
+/*
+ * Provider backed by a local snapshot of rates, e.g., a replicated rate feed. The snapshot is a CSV
+ * file with one "source,target,rate" line per pair; lines starting with '#' are ignored, and so are
+ * malformed lines and rates that are not positive. The file is streamed line by line and parsed
+ * again only when its modification time changes; the rates are dated with that modification time.
+ * Pairs that are not in the file are derived through a common source.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.exchange-rates.provider", havingValue = "file")
+public class FileExchangeRateProvider implements ExchangeRateProvider {
+
+	// Internal state ---------------------------------------------------------
+
+	@Value("${acme.exchange-rates.file:exchange-rates.csv}")
+	protected String			file;
+
+	protected volatile Snapshot	snapshot;
+
+	// ExchangeRateProvider interface -----------------------------------------
+
+
+	@Override
+	public ExchangeRate getRates(final String baseCurrency, final Collection<String> targetCurrencies) {
+		assert !StringHelper.isBlank(baseCurrency);
+		assert targetCurrencies != null && !targetCurrencies.isEmpty();
+
+		ExchangeRate result;
+		Snapshot snapshot;
+		Map<String, Double> rates;
+		Double rate;
+
+		try {
+			snapshot = this.getSnapshot();
+		} catch (final IOException oops) {
+			snapshot = null;
+		}
+
+		if (snapshot == null)
+			result = null;
+		else {
+			rates = new HashMap<>();
+			for (final String target : targetCurrencies) {
+				rate = snapshot.getRate(baseCurrency, target);
+				if (rate != null)
+					rates.put(target, rate);
+			}
+
+			if (rates.isEmpty())
+				result = null;
+			else {
+				result = new ExchangeRate();
+				result.setBase(baseCurrency);
+				result.setRates(rates);
+				result.setDate(new Date(snapshot.modified));
+			}
+		}
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected Snapshot getSnapshot() throws IOException {
+		Snapshot result;
+		Path path;
+		long modified;
+
+		path = Paths.get(this.file);
+		modified = Files.getLastModifiedTime(path).toMillis();
+		result = this.snapshot;
+
+		if (result == null || result.modified != modified) {
+			result = FileExchangeRateProvider.parse(path, modified);
+			this.snapshot = result;
+		}
+
+		return result;
+	}
+
+	protected static Snapshot parse(final Path path, final long modified) throws IOException {
+		Snapshot result;
+		String line;
+		String[] fields;
+		double rate;
+
+		result = new Snapshot(modified);
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.US_ASCII))) {
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.charAt(0) == '#')
+					continue;
+
+				fields = line.split(",");
+				if (fields.length == 3)
+					try {
+						rate = Double.parseDouble(fields[2].trim());
+						if (rate > 0.0 && !Double.isInfinite(rate))
+							result.put(fields[0].trim(), fields[1].trim(), rate);
+					} catch (final NumberFormatException oops) {
+						// A malformed line must not discard the rest of the file.
+					}
+			}
+		}
+
+		return result;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+
+	protected static final class Snapshot {
+
+		private final long								modified;
+		private final Map<String, Map<String, Double>>	rates;
+
+
+		protected Snapshot(final long modified) {
+			this.modified = modified;
+			this.rates = new HashMap<>();
+		}
+
+		protected void put(final String source, final String target, final Double rate) {
+			this.rates.computeIfAbsent(source, key -> new HashMap<>()).put(target, rate);
+		}
+
+		protected Double getRate(final String source, final String target) {
+			Double result;
+			Map<String, Double> direct;
+			Double from, to;
+
+			direct = this.rates.get(source);
+			if (source.equals(target))
+				result = 1.0;
+			else if (direct != null && direct.containsKey(target))
+				result = direct.get(target);
+			else {
+				result = null;
+				for (final Map.Entry<String, Map<String, Double>> entry : this.rates.entrySet()) {
+					from = entry.getKey().equals(source) ? Double.valueOf(1.0) : entry.getValue().get(source);
+					to = entry.getKey().equals(target) ? Double.valueOf(1.0) : entry.getValue().get(target);
+					if (from != null && to != null && from != 0.0) {
+						result = to / from;
+						break;
+					}
+				}
+			}
+
+			return result;
+		}
+
+	}
+
+}
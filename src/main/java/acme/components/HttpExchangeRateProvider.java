@@ -0,0 +1,148 @@
+package acme.components;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import acme.framework.helpers.StringHelper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Provider backed by the exchangerate.host API. Calls share a pooled, keep-alive HTTP client with
+ * bounded connect and read timeouts, and go through a circuit breaker: while the API is failing,
+ * calls fail fast and the cache keeps serving the last known rates. Call latency and failures are
+ * published as "acme.exchange-rates.calls" and "acme.exchange-rates.failures".
+ */
+@Component
+@ConditionalOnProperty(name = "acme.exchange-rates.provider", havingValue = "http", matchIfMissing = true)
+public class HttpExchangeRateProvider implements ExchangeRateProvider {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected MeterRegistry			meters;
+
+	@Value("${acme.exchange-rates.http.connect-timeout:2000}")
+	protected int					connectTimeout;
+
+	@Value("${acme.exchange-rates.http.read-timeout:3000}")
+	protected int					readTimeout;
+
+	@Value("${acme.exchange-rates.http.max-connections:10}")
+	protected int					maxConnections;
+
+	@Value("${acme.exchange-rates.http.failure-threshold:3}")
+	protected int					failureThreshold;
+
+	@Value("${acme.exchange-rates.http.open-duration:60}")
+	protected long					openDuration;
+
+	protected CloseableHttpClient	client;
+
+	protected RestTemplate			api;
+
+	protected CircuitBreaker		breaker;
+
+	protected Timer					calls;
+
+	protected Counter				failures;
+
+	protected Counter				rejections;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@PostConstruct
+	protected void initialise() {
+		PoolingHttpClientConnectionManager connections;
+		RequestConfig config;
+
+		connections = new PoolingHttpClientConnectionManager();
+		connections.setMaxTotal(this.maxConnections);
+		connections.setDefaultMaxPerRoute(this.maxConnections);
+
+		config = RequestConfig.custom() //
+			.setConnectTimeout(this.connectTimeout) //
+			.setConnectionRequestTimeout(this.connectTimeout) //
+			.setSocketTimeout(this.readTimeout) //
+			.build();
+
+		this.client = HttpClients.custom() //
+			.setConnectionManager(connections) //
+			.setDefaultRequestConfig(config) //
+			.evictIdleConnections(30, TimeUnit.SECONDS) //
+			.build();
+		this.api = new RestTemplate(new HttpComponentsClientHttpRequestFactory(this.client));
+		this.breaker = new CircuitBreaker(this.failureThreshold, TimeUnit.SECONDS.toMillis(this.openDuration));
+
+		this.calls = this.meters.timer("acme.exchange-rates.calls");
+		this.failures = this.meters.counter("acme.exchange-rates.failures");
+		this.rejections = this.meters.counter("acme.exchange-rates.rejections");
+	}
+
+	@PreDestroy
+	protected void destroy() throws Exception {
+		this.client.close();
+	}
+
+	// ExchangeRateProvider interface -----------------------------------------
+
+	@Override
+	public ExchangeRate getRates(final String baseCurrency, final Collection<String> targetCurrencies) {
+		assert !StringHelper.isBlank(baseCurrency);
+		assert targetCurrencies != null && !targetCurrencies.isEmpty();
+
+		ExchangeRate result;
+		long start;
+
+		if (!this.breaker.allowRequest()) {
+			this.rejections.increment();
+			result = null;
+		} else {
+			start = System.nanoTime();
+			try {
+				result = this.api.getForObject( //
+					"https://api.exchangerate.host/latest?base={0}&symbols={1}", //
+					ExchangeRate.class, //
+					baseCurrency, //
+					String.join(",", targetCurrencies) //
+				);
+				if (result == null || result.getRates() == null || result.getDate() == null)
+					result = null;
+			} catch (final RestClientException oops) {
+				result = null;
+			} finally {
+				this.calls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+
+			if (result == null) {
+				this.failures.increment();
+				this.breaker.recordFailure();
+			} else
+				this.breaker.recordSuccess();
+		}
+
+		return result;
+	}
+
+	public boolean isDegraded() {
+		return this.breaker.isOpen();
+	}
+
+}
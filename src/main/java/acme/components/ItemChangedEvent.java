@@ -0,0 +1,101 @@
+package acme.components;
+
+import java.util.Date;
+
+import acme.entities.Item;
+import acme.entities.ItemType;
+
+/*
+ * Published by the EntityChangePublisher whenever an item is created, updated, published or deleted.
+ * The previous state is null for new items and the current one is null for deleted items.
+ */
+public class ItemChangedEvent {
+
+	// Internal state ---------------------------------------------------------
+
+	private final State	previous;
+	private final State	current;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public ItemChangedEvent(final State previous, final State current) {
+		this.previous = previous;
+		this.current = current;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public State getPrevious() {
+		return this.previous;
+	}
+
+	public State getCurrent() {
+		return this.current;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	public static class State {
+
+		private final ItemType	type;
+		private final String	technology;
+		private final String	currency;
+		private final double	amount;
+		private final boolean	published;
+		private final boolean	withChimpum;
+		private final Date		creationMoment;
+
+
+		public State(final ItemType type, final String technology, final String currency, final double amount, final boolean published, final boolean withChimpum, final Date creationMoment) {
+			this.type = type;
+			this.technology = technology;
+			this.currency = currency;
+			this.amount = amount;
+			this.published = published;
+			this.withChimpum = withChimpum;
+			this.creationMoment = creationMoment;
+		}
+
+		public static State of(final Item item) {
+			assert item != null;
+
+			return new State(item.getType(), item.getTechnology(), item.getRetailPrice().getCurrency(), item.getRetailPrice().getAmount(), item.isPublished(), item.getChimpum() != null, item.getCreationMoment());
+		}
+
+		public ItemType getType() {
+			return this.type;
+		}
+
+		public String getTechnology() {
+			return this.technology;
+		}
+
+		public String getCurrency() {
+			return this.currency;
+		}
+
+		public double getAmount() {
+			return this.amount;
+		}
+
+		public boolean isPublished() {
+			return this.published;
+		}
+
+		public boolean isWithChimpum() {
+			return this.withChimpum;
+		}
+
+		public Date getCreationMoment() {
+			return this.creationMoment;
+		}
+
+		public boolean sameAs(final State other) {
+			return other != null && this.type == other.type && this.technology.equals(other.technology) && this.currency.equals(other.currency) //
+				&& this.amount == other.amount && this.published == other.published && this.withChimpum == other.withChimpum;
+		}
+
+	}
+
+}
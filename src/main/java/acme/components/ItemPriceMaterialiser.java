@@ -0,0 +1,79 @@
+package acme.components;
+
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import acme.forms.MoneyExchange;
+import acme.framework.datatypes.Money;
+
+/*
+ * Keeps Item.convertedPrice and Item.exchangeDate up to date when exchange rates change, so that
+ * showing an item never has to convert its price or write to the database. Each change is applied
+ * with a single bulk update per source currency, after which the totals of the toolkits holding
+ * those items are recomputed.
+ */
+@Component
+public class ItemPriceMaterialiser {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected ItemPriceRepository		repository;
+
+	@Autowired
+	protected ExchangeRateCache			exchangeRates;
+
+	@Autowired
+	protected ToolkitPriceMaintainer	toolkitPrices;
+
+	@Autowired
+	protected SystemConfigurationCache	configuration;
+
+	// Business methods -------------------------------------------------------
+
+
+	@Transactional
+	@EventListener
+	public void onRateChange(final ExchangeRateChangedEvent event) {
+		assert event != null;
+
+		if (event.getTargetCurrency().equals(this.configuration.get().getSystemCurrency())) {
+			this.repository.updateConvertedPrices(event.getSourceCurrency(), event.getTargetCurrency(), event.getRate(), event.getDate());
+			this.toolkitPrices.onConvertedPricesChanged(event.getSourceCurrency());
+		}
+	}
+
+	@Transactional
+	public int materialiseAll() {
+		int result;
+		String baseCurrency;
+		Date now;
+		Money unit;
+		MoneyExchange exchange;
+
+		result = 0;
+		baseCurrency = this.configuration.get().getSystemCurrency();
+		now = new Date();
+
+		if (baseCurrency != null)
+			for (final String currency : this.repository.findManyRetailCurrencies()) {
+				if (currency.equals(baseCurrency))
+					result += this.repository.updateConvertedPrices(currency, baseCurrency, 1.0, now);
+				else {
+					unit = new Money();
+					unit.setAmount(1.0);
+					unit.setCurrency(currency);
+					exchange = this.exchangeRates.getConversion(unit, baseCurrency, now);
+					if (exchange != null)
+						result += this.repository.updateConvertedPrices(currency, baseCurrency, exchange.getRate(), exchange.getDate());
+				}
+			}
+
+		return result;
+	}
+
+}
@@ -0,0 +1,22 @@
+package acme.components;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface ItemPriceRepository extends AbstractRepository {
+
+	@Query("select distinct i.retailPrice.currency from Item i")
+	Collection<String> findManyRetailCurrencies();
+
+	@Modifying
+	@Query("update Item i set i.convertedPrice.amount = round(i.retailPrice.amount * :rate, 2), i.convertedPrice.currency = :targetCurrency, i.exchangeDate = :date where i.retailPrice.currency = :sourceCurrency")
+	int updateConvertedPrices(String sourceCurrency, String targetCurrency, double rate, Date date);
+
+}
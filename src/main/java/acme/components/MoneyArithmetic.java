@@ -0,0 +1,120 @@
+package acme.components;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * Allocation-free money arithmetic. Amounts are handled as long minor units (hundredths) and rates
+ * as a long mantissa and a power-of-ten scale chosen per rate, so that small rates keep as many
+ * significant digits as large ones, up to SIGNIFICANT_DIGITS. A conversion rounds once, to minor
+ * units, half away from zero; only when the product of the amount and the mantissa overflows a
+ * long is it computed with BigDecimals. Other overflows raise an ArithmeticException.
+ */
+public final class MoneyArithmetic {
+
+	// Constants --------------------------------------------------------------
+
+	public static final long		MINOR_UNITS			= 100L;
+
+	public static final int			SIGNIFICANT_DIGITS	= 15;
+
+	public static final int			MAX_RATE_SCALE		= 18;
+
+	protected static final long[]	POWERS_OF_TEN		= new long[MoneyArithmetic.MAX_RATE_SCALE + 1];
+
+	static {
+		MoneyArithmetic.POWERS_OF_TEN[0] = 1L;
+		for (int i = 1; i < MoneyArithmetic.POWERS_OF_TEN.length; i++)
+			MoneyArithmetic.POWERS_OF_TEN[i] = MoneyArithmetic.POWERS_OF_TEN[i - 1] * 10L;
+	}
+
+	// Constructors -----------------------------------------------------------
+
+
+	private MoneyArithmetic() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public static long toMinorUnits(final double amount) {
+		final double scaled = amount * MoneyArithmetic.MINOR_UNITS;
+
+		return scaled >= 0 ? Math.round(scaled) : -Math.round(-scaled);
+	}
+
+	public static double toAmount(final long minorUnits) {
+		return (double) minorUnits / MoneyArithmetic.MINOR_UNITS;
+	}
+
+	// Returns the smallest scale at which the rate, rounded to SIGNIFICANT_DIGITS, is a whole mantissa.
+	public static int toRateScale(final double rate) {
+		int result;
+		long mantissa;
+
+		if (rate == 0.0)
+			return 0;
+
+		result = MoneyArithmetic.SIGNIFICANT_DIGITS - 1 - (int) Math.floor(Math.log10(Math.abs(rate)));
+		result = Math.max(0, Math.min(MoneyArithmetic.MAX_RATE_SCALE, result));
+		mantissa = Math.round(rate * MoneyArithmetic.POWERS_OF_TEN[result]);
+		while (result > 0 && mantissa % 10 == 0) {
+			mantissa /= 10;
+			result--;
+		}
+
+		return result;
+	}
+
+	public static long toRateMantissa(final double rate, final int scale) {
+		assert scale >= 0 && scale <= MoneyArithmetic.MAX_RATE_SCALE;
+
+		return Math.round(rate * MoneyArithmetic.POWERS_OF_TEN[scale]);
+	}
+
+	public static long convert(final long minorUnits, final long mantissa, final int scale) {
+		assert scale >= 0 && scale <= MoneyArithmetic.MAX_RATE_SCALE;
+
+		long result;
+
+		try {
+			result = MoneyArithmetic.divide(Math.multiplyExact(minorUnits, mantissa), MoneyArithmetic.POWERS_OF_TEN[scale]);
+		} catch (final ArithmeticException oops) {
+			result = BigDecimal.valueOf(minorUnits).multiply(BigDecimal.valueOf(mantissa, scale)).setScale(0, RoundingMode.HALF_UP).longValueExact();
+		}
+
+		return result;
+	}
+
+	public static long multiply(final long minorUnits, final long quantity) {
+		return Math.multiplyExact(minorUnits, quantity);
+	}
+
+	public static long add(final long left, final long right) {
+		return Math.addExact(left, right);
+	}
+
+	public static double convert(final double amount, final double rate) {
+		final int scale = MoneyArithmetic.toRateScale(rate);
+
+		return MoneyArithmetic.toAmount(MoneyArithmetic.convert(MoneyArithmetic.toMinorUnits(amount), MoneyArithmetic.toRateMantissa(rate, scale), scale));
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	// Divides by a positive divisor, rounding half away from zero; the remainder never overflows.
+	protected static long divide(final long dividend, final long divisor) {
+		assert divisor > 0;
+
+		long result;
+		long remainder;
+
+		result = dividend / divisor;
+		remainder = dividend % divisor;
+		if (Math.abs(remainder) >= divisor - Math.abs(remainder))
+			result += Long.signum(dividend);
+
+		return result;
+	}
+
+}
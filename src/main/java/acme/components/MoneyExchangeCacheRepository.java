@@ -0,0 +1,20 @@
+package acme.components;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import acme.entities.MoneyExchangeCache;
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface MoneyExchangeCacheRepository extends AbstractRepository {
+
+	@Query("select c from MoneyExchangeCache c where c.source = :sourceCurrency and c.target = :targetCurrency order by c.id")
+	List<MoneyExchangeCache> findManyCachesBySourceAndTarget(String sourceCurrency, String targetCurrency);
+
+	@Query("select c from MoneyExchangeCache c")
+	List<MoneyExchangeCache> findManyCaches();
+
+}
@@ -0,0 +1,95 @@
+package acme.components;
+
+import java.util.Date;
+
+import acme.entities.Patronage;
+import acme.entities.PatronageStatus;
+
+/*
+ * Published by the EntityChangePublisher whenever a patronage is created, updated, published or
+ * deleted. The previous state is null for new patronages and the current one is null for deleted ones.
+ */
+public class PatronageChangedEvent {
+
+	// Internal state ---------------------------------------------------------
+
+	private final State	previous;
+	private final State	current;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public PatronageChangedEvent(final State previous, final State current) {
+		this.previous = previous;
+		this.current = current;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public State getPrevious() {
+		return this.previous;
+	}
+
+	public State getCurrent() {
+		return this.current;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	public static class State {
+
+		private final int				patronId;
+		private final PatronageStatus	status;
+		private final String			currency;
+		private final double			amount;
+		private final boolean			published;
+		private final Date				creationMoment;
+
+
+		public State(final int patronId, final PatronageStatus status, final String currency, final double amount, final boolean published, final Date creationMoment) {
+			this.patronId = patronId;
+			this.status = status;
+			this.currency = currency;
+			this.amount = amount;
+			this.published = published;
+			this.creationMoment = creationMoment;
+		}
+
+		public static State of(final Patronage patronage) {
+			assert patronage != null;
+
+			return new State(patronage.getPatron().getId(), patronage.getStatus(), patronage.getBudget().getCurrency(), patronage.getBudget().getAmount(), patronage.isPublished(), patronage.getCreationMoment());
+		}
+
+		public int getPatronId() {
+			return this.patronId;
+		}
+
+		public PatronageStatus getStatus() {
+			return this.status;
+		}
+
+		public String getCurrency() {
+			return this.currency;
+		}
+
+		public double getAmount() {
+			return this.amount;
+		}
+
+		public boolean isPublished() {
+			return this.published;
+		}
+
+		public Date getCreationMoment() {
+			return this.creationMoment;
+		}
+
+		public boolean sameAs(final State other) {
+			return other != null && this.patronId == other.patronId && this.status == other.status && this.currency.equals(other.currency) //
+				&& this.amount == other.amount && this.published == other.published;
+		}
+
+	}
+
+}
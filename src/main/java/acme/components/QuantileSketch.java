@@ -0,0 +1,255 @@
+package acme.components;
+
+import java.util.Arrays;
+
+/*
+ * A mergeable t-digest that approximates the distribution of a stream of amounts in memory bounded
+ * by its compression, regardless of how many values are added. Values are buffered and periodically
+ * merged into centroids that span at most one unit of the scale k(q) = compression / (2 * pi) *
+ * asin(2 * q - 1), so there are at most about compression centroids and the tails are kept with
+ * more precision than the median. Values cannot be removed; a sketch that has to forget values
+ * must be rebuilt. It is not thread-safe.
+ */
+public class QuantileSketch {
+
+	// Constants --------------------------------------------------------------
+
+	public static final double	DEFAULT_COMPRESSION	= 100.0;
+
+	// Internal state ---------------------------------------------------------
+
+	protected final double		compression;
+
+	protected double[]			means;
+	protected double[]			weights;
+	protected int				centroids;
+
+	protected final double[]	bufferMeans;
+	protected final double[]	bufferWeights;
+	protected int				buffered;
+
+	protected double			total;
+	protected double			min;
+	protected double			max;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public QuantileSketch() {
+		this(QuantileSketch.DEFAULT_COMPRESSION);
+	}
+
+	public QuantileSketch(final double compression) {
+		assert compression >= 10.0;
+
+		int capacity;
+
+		capacity = (int) Math.ceil(5 * compression);
+
+		this.compression = compression;
+		this.means = new double[0];
+		this.weights = new double[0];
+		this.bufferMeans = new double[capacity];
+		this.bufferWeights = new double[capacity];
+		this.min = Double.POSITIVE_INFINITY;
+		this.max = Double.NEGATIVE_INFINITY;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public long getCount() {
+		return Math.round(this.total);
+	}
+
+	public Double getMin() {
+		return this.total == 0 ? null : this.min;
+	}
+
+	public Double getMax() {
+		return this.total == 0 ? null : this.max;
+	}
+
+	public void add(final double value) {
+		this.add(value, 1.0);
+	}
+
+	public void merge(final QuantileSketch other) {
+		assert other != null;
+
+		other.compress();
+		for (int i = 0; i < other.centroids; i++)
+			this.add(other.means[i], other.weights[i]);
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+
+	// Returns the approximate value below which the given fraction of the values falls.
+	public Double quantile(final double q) {
+		assert q >= 0.0 && q <= 1.0;
+
+		Double result;
+		double index;
+		double cumulative;
+		double gap;
+		int last;
+
+		this.compress();
+		if (this.total == 0)
+			return null;
+
+		index = q * this.total;
+		last = this.centroids - 1;
+		if (index < this.weights[0] / 2)
+			result = this.min + (this.means[0] - this.min) * index / (this.weights[0] / 2);
+		else {
+			result = null;
+			cumulative = this.weights[0] / 2;
+			for (int i = 0; result == null && i < last; i++) {
+				gap = (this.weights[i] + this.weights[i + 1]) / 2;
+				if (cumulative + gap > index)
+					result = this.means[i] + (this.means[i + 1] - this.means[i]) * (index - cumulative) / gap;
+				cumulative += gap;
+			}
+			if (result == null)
+				result = this.means[last] + (this.max - this.means[last]) * Math.min(1.0, (index - cumulative) / (this.weights[last] / 2));
+		}
+
+		return result;
+	}
+
+	// Returns the approximate fraction of the values that are lower than or equal to the given one.
+	public double cdf(final double value) {
+		double result;
+		double cumulative;
+		double gap;
+		int last;
+
+		this.compress();
+		if (this.total == 0 || value < this.min)
+			return 0.0;
+		if (value >= this.max)
+			return 1.0;
+
+		last = this.centroids - 1;
+		if (value < this.means[0])
+			result = this.weights[0] / 2 * QuantileSketch.fraction(value, this.min, this.means[0]);
+		else {
+			result = -1.0;
+			cumulative = this.weights[0] / 2;
+			for (int i = 0; result < 0 && i < last; i++) {
+				gap = (this.weights[i] + this.weights[i + 1]) / 2;
+				if (value < this.means[i + 1])
+					result = cumulative + gap * QuantileSketch.fraction(value, this.means[i], this.means[i + 1]);
+				cumulative += gap;
+			}
+			if (result < 0)
+				result = cumulative + this.weights[last] / 2 * QuantileSketch.fraction(value, this.means[last], this.max);
+		}
+
+		return result / this.total;
+	}
+
+	// Returns the approximate number of values in each of the given number of equal-width bins
+	// between the minimum and the maximum.
+	public long[] histogram(final int bins) {
+		assert bins > 0;
+
+		long[] result;
+		double width;
+		double previous;
+		double current;
+
+		result = new long[bins];
+		if (this.total != 0) {
+			width = (this.max - this.min) / bins;
+			previous = 0.0;
+			for (int i = 0; i < bins; i++) {
+				current = i == bins - 1 ? 1.0 : this.cdf(this.min + width * (i + 1));
+				result[i] = Math.round((current - previous) * this.total);
+				previous = current;
+			}
+		}
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void add(final double value, final double weight) {
+		if (this.buffered == this.bufferMeans.length)
+			this.compress();
+
+		this.bufferMeans[this.buffered] = value;
+		this.bufferWeights[this.buffered] = weight;
+		this.buffered++;
+		this.total += weight;
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	protected void compress() {
+		double[] inputMeans;
+		double[] inputWeights;
+		Integer[] order;
+		double[] outputMeans;
+		double[] outputWeights;
+		int output;
+		double mean;
+		double weight;
+		double soFar;
+		double proposed;
+		double lower;
+
+		if (this.buffered == 0)
+			return;
+
+		inputMeans = Arrays.copyOf(this.means, this.centroids + this.buffered);
+		inputWeights = Arrays.copyOf(this.weights, this.centroids + this.buffered);
+		System.arraycopy(this.bufferMeans, 0, inputMeans, this.centroids, this.buffered);
+		System.arraycopy(this.bufferWeights, 0, inputWeights, this.centroids, this.buffered);
+		order = new Integer[inputMeans.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> Double.compare(inputMeans[a], inputMeans[b]));
+
+		outputMeans = new double[order.length];
+		outputWeights = new double[order.length];
+		output = 0;
+		soFar = 0.0;
+		lower = this.scale(0.0);
+		mean = inputMeans[order[0]];
+		weight = inputWeights[order[0]];
+		for (int i = 1; i < order.length; i++) {
+			proposed = weight + inputWeights[order[i]];
+			if (this.scale((soFar + proposed) / this.total) - lower <= 1.0) {
+				mean += (inputMeans[order[i]] - mean) * inputWeights[order[i]] / proposed;
+				weight = proposed;
+			} else {
+				outputMeans[output] = mean;
+				outputWeights[output] = weight;
+				output++;
+				soFar += weight;
+				lower = this.scale(soFar / this.total);
+				mean = inputMeans[order[i]];
+				weight = inputWeights[order[i]];
+			}
+		}
+		outputMeans[output] = mean;
+		outputWeights[output] = weight;
+		output++;
+
+		this.means = Arrays.copyOf(outputMeans, output);
+		this.weights = Arrays.copyOf(outputWeights, output);
+		this.centroids = output;
+		this.buffered = 0;
+	}
+
+	protected double scale(final double q) {
+		return this.compression / (2 * Math.PI) * Math.asin(Math.max(-1.0, Math.min(1.0, 2 * q - 1)));
+	}
+
+	protected static double fraction(final double value, final double lower, final double upper) {
+		return upper > lower ? (value - lower) / (upper - lower) : 1.0;
+	}
+
+}
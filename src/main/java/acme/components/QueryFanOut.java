@@ -0,0 +1,142 @@
+package acme.components;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Runs independent read-only queries concurrently on a bounded pool, each one in a read-only
+ * transaction of its own, so that a page that needs several of them waits about as long as the
+ * slowest one instead of their sum. The results are joined against a deadline; a query that misses
+ * it yields null, so that the page can be shown with partial results. Cancelling a task does not
+ * stop a statement that is running, so the transaction of every query times out by the deadline,
+ * which makes the driver cancel its statements and release the connection; a query that starts
+ * after the deadline does not run at all. When the pool and its queue are full, queries run on the
+ * calling thread, so queries must never submit others, lest the pool threads wait on tasks queued
+ * behind them.
+ */
+@Component
+public class QueryFanOut {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected PlatformTransactionManager	transactionManager;
+
+	@Value("${acme.dashboards.fan-out.threads:4}")
+	protected int							threads;
+
+	@Value("${acme.dashboards.fan-out.queue:32}")
+	protected int							queue;
+
+	@Value("${acme.dashboards.deadline:5000}")
+	protected long							timeout;
+
+	protected DefaultTransactionDefinition	definition;
+
+	protected ThreadPoolExecutor			executor;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@PostConstruct
+	protected void initialise() {
+		final AtomicInteger counter;
+
+		this.definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.definition.setReadOnly(true);
+
+		counter = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(this.queue), runnable -> {
+			final Thread result;
+
+			result = new Thread(runnable, "query-fan-out-" + counter.incrementAndGet());
+			result.setDaemon(true);
+
+			return result;
+		}, new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	// Business methods -------------------------------------------------------
+
+	// Returns the moment, as given by System.nanoTime, by which the queries started now must finish.
+	public long deadline() {
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+	}
+
+	// Runs the query in a transaction that times out by the deadline, given by System.nanoTime.
+	public <T> Future<T> submit(final Callable<T> query, final long deadline) {
+		assert query != null;
+
+		return this.executor.submit(() -> {
+			final TransactionTemplate transactions;
+			final long remaining;
+
+			remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+				return null;
+
+			transactions = new TransactionTemplate(this.transactionManager, this.definition);
+			// Transaction timeouts are whole seconds, so the timeout is rounded up.
+			transactions.setTimeout((int) TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+
+			return transactions.execute(status -> {
+				try {
+					return query.call();
+				} catch (final RuntimeException oops) {
+					throw oops;
+				} catch (final Exception oops) {
+					throw new IllegalStateException(oops);
+				}
+			});
+		});
+	}
+
+	// Returns the result of the query, or null if it does not finish by the deadline. The exceptions
+	// thrown by the query are rethrown.
+	public <T> T join(final Future<T> future, final long deadline) {
+		assert future != null;
+
+		T result;
+
+		try {
+			result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (final TimeoutException oops) {
+			future.cancel(true);
+			result = null;
+		} catch (final InterruptedException oops) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			result = null;
+		} catch (final ExecutionException oops) {
+			if (oops.getCause() instanceof RuntimeException)
+				throw (RuntimeException) oops.getCause();
+			throw new IllegalStateException(oops.getCause());
+		}
+
+		return result;
+	}
+
+}
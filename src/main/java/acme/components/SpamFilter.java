@@ -0,0 +1,69 @@
+package acme.components;
+
+import java.beans.PropertyDescriptor;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import acme.framework.controllers.Errors;
+import acme.framework.controllers.Request;
+
+/*
+ * Scores texts with the SpamMatcher of the current SystemConfigurationSnapshot, so that the
+ * services that validate texts neither read the configuration nor parse its lists; a text is
+ * always scored against one version of the configuration or another.
+ *
+ * Services validate the text properties of their entities by listing them, as they list the
+ * properties that they bind, and get an error on every property that is spam. The matches are
+ * tracked in a buffer per thread, so scoring allocates nothing.
+ */
+@Component
+public class SpamFilter {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected SystemConfigurationCache				configuration;
+
+	protected final ThreadLocal<SpamMatcher.Buffer>	buffers	= ThreadLocal.withInitial(SpamMatcher.Buffer::new);
+
+	// Business methods -------------------------------------------------------
+
+
+	public SpamMatcher getMatcher() {
+		return this.configuration.get().getSpamMatcher();
+	}
+
+	public boolean validateNoSpam(final String text) {
+		return this.getMatcher().validateNoSpam(text, this.buffers.get());
+	}
+
+	// Scores every given text property of the entity that is not empty and states an error with
+	// the given code on those that are spam.
+	public <E> void validate(final Request<E> request, final E entity, final Errors errors, final String code, final String... properties) {
+		assert request != null;
+		assert entity != null;
+		assert errors != null;
+		assert code != null;
+		assert properties != null;
+
+		SpamMatcher current;
+		SpamMatcher.Buffer buffer;
+		PropertyDescriptor descriptor;
+		String text;
+
+		current = this.getMatcher();
+		buffer = this.buffers.get();
+		for (final String property : properties) {
+			descriptor = BeanUtils.getPropertyDescriptor(entity.getClass(), property);
+			assert descriptor != null && descriptor.getReadMethod() != null && descriptor.getPropertyType() == String.class : property;
+
+			text = (String) ReflectionUtils.invokeMethod(descriptor.getReadMethod(), entity);
+			if (text != null && !text.isEmpty())
+				errors.state(request, current.validateNoSpam(text, buffer), property, code, "spam");
+		}
+	}
+
+}
@@ -0,0 +1,308 @@
+package acme.components;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/*
+ * An Aho-Corasick automaton compiled from the strong and the weak spam terms of the system
+ * configuration, so that a text is scored against both lists and both thresholds in a single pass
+ * that is linear in its length, however many terms there are. The scores are those of SpamDetector:
+ * the number of characters of the text covered by occurrences of the terms of a list, counting
+ * every occurrence of a term that does not overlap the previous one and every copy of a term in
+ * the list, divided by the length of the text, where spaces are ignored and upper and lower case
+ * are not told apart. Unlike SpamDetector, terms that occur twice are counted twice instead of
+ * never returning, every whitespace character is ignored, and a text without other characters is
+ * not spam. Matchers are immutable and can be shared by any number of threads.
+ */
+public class SpamMatcher {
+
+	// Constants --------------------------------------------------------------
+
+	public static final String	SEPARATOR	= ";";
+
+	// Transitions from the root of the characters below this one are kept in a table.
+	protected static final int	ROOT_RANGE	= 128;
+
+	// Internal state ---------------------------------------------------------
+
+	protected final double		strongThreshold;
+	protected final double		weakThreshold;
+
+	// The edges of node n are those from edgeStart[n] to edgeStart[n + 1], sorted by label.
+	protected final int[]		edgeStart;
+	protected final char[]		edgeLabels;
+	protected final int[]		edgeTargets;
+	protected final int[]		rootTargets;
+	protected final int[]		failures;
+
+	// The term that ends at every node, and the next node on its failure chain where one ends, or -1.
+	protected final int[]		terms;
+	protected final int[]		outputs;
+
+	protected final int[]		termLengths;
+	protected final int[]		strongWeights;
+	protected final int[]		weakWeights;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public SpamMatcher(final String strongSpam, final double strongThreshold, final String weakSpam, final double weakThreshold) {
+		assert strongSpam != null;
+		assert weakSpam != null;
+
+		Map<String, int[]> weights;
+		List<TreeMap<Character, Integer>> trie;
+		List<Integer> ends;
+		Queue<Integer> pending;
+		int size;
+		int edges;
+		int index;
+
+		weights = new LinkedHashMap<>();
+		SpamMatcher.count(strongSpam, 0, weights);
+		SpamMatcher.count(weakSpam, 1, weights);
+
+		this.strongThreshold = strongThreshold;
+		this.weakThreshold = weakThreshold;
+		this.termLengths = new int[weights.size()];
+		this.strongWeights = new int[weights.size()];
+		this.weakWeights = new int[weights.size()];
+
+		trie = new ArrayList<>();
+		ends = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		ends.add(-1);
+		index = 0;
+		for (final Map.Entry<String, int[]> entry : weights.entrySet()) {
+			final String term = entry.getKey();
+			int node;
+
+			node = 0;
+			for (int i = 0; i < term.length(); i++) {
+				final Integer child = trie.get(node).get(term.charAt(i));
+
+				if (child != null)
+					node = child;
+				else {
+					trie.get(node).put(term.charAt(i), trie.size());
+					node = trie.size();
+					trie.add(new TreeMap<>());
+					ends.add(-1);
+				}
+			}
+			ends.set(node, index);
+			this.termLengths[index] = term.length();
+			this.strongWeights[index] = entry.getValue()[0];
+			this.weakWeights[index] = entry.getValue()[1];
+			index++;
+		}
+
+		size = trie.size();
+		edges = 0;
+		for (final TreeMap<Character, Integer> children : trie)
+			edges += children.size();
+
+		this.edgeStart = new int[size + 1];
+		this.edgeLabels = new char[edges];
+		this.edgeTargets = new int[edges];
+		this.terms = new int[size];
+		this.outputs = new int[size];
+		this.failures = new int[size];
+		edges = 0;
+		for (int node = 0; node < size; node++) {
+			this.edgeStart[node] = edges;
+			for (final Map.Entry<Character, Integer> edge : trie.get(node).entrySet()) {
+				this.edgeLabels[edges] = edge.getKey();
+				this.edgeTargets[edges] = edge.getValue();
+				edges++;
+			}
+			this.terms[node] = ends.get(node);
+		}
+		this.edgeStart[size] = edges;
+
+		this.rootTargets = new int[SpamMatcher.ROOT_RANGE];
+		for (char c = 0; c < SpamMatcher.ROOT_RANGE; c++)
+			this.rootTargets[c] = Math.max(0, this.child(0, c));
+
+		// Failure links are set breadth first, so those of shallower nodes are known.
+		pending = new ArrayDeque<>();
+		this.outputs[0] = -1;
+		for (int e = this.edgeStart[0]; e < this.edgeStart[1]; e++) {
+			this.failures[this.edgeTargets[e]] = 0;
+			this.outputs[this.edgeTargets[e]] = -1;
+			pending.add(this.edgeTargets[e]);
+		}
+		while (!pending.isEmpty()) {
+			final int node = pending.remove();
+
+			for (int e = this.edgeStart[node]; e < this.edgeStart[node + 1]; e++) {
+				final int target = this.edgeTargets[e];
+				final int failure = this.next(this.failures[node], this.edgeLabels[e]);
+
+				this.failures[target] = failure;
+				this.outputs[target] = this.terms[failure] >= 0 ? failure : this.outputs[failure];
+				pending.add(target);
+			}
+		}
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public double getStrongThreshold() {
+		return this.strongThreshold;
+	}
+
+	public double getWeakThreshold() {
+		return this.weakThreshold;
+	}
+
+	public int getTermCount() {
+		return this.termLengths.length;
+	}
+
+	// Returns true if the text scores below or at both thresholds, as SpamDetector.validateNoSpam
+	// does when called with both lists.
+	public boolean validateNoSpam(final String text) {
+		return this.validateNoSpam(text, new Buffer());
+	}
+
+	// Does the same, keeping track of the matches in the given buffer, which can be reused by the
+	// next texts scored on the same thread, whatever the matcher.
+	public boolean validateNoSpam(final String text, final Buffer buffer) {
+		assert buffer != null;
+
+		int length;
+		long strong;
+		long weak;
+		int node;
+
+		if (text == null)
+			return true;
+
+		buffer.reset();
+		length = 0;
+		strong = 0;
+		weak = 0;
+		node = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+
+			if (Character.isWhitespace(c))
+				continue;
+
+			node = this.next(node, Character.toLowerCase(c));
+			for (int match = this.terms[node] >= 0 ? node : this.outputs[node]; match >= 0; match = this.outputs[match]) {
+				final int term = this.terms[match];
+
+				if (buffer.accept(term, length, this.termLengths[term], this.termLengths.length)) {
+					strong += (long) this.termLengths[term] * this.strongWeights[term];
+					weak += (long) this.termLengths[term] * this.weakWeights[term];
+				}
+			}
+			length++;
+		}
+
+		return length == 0 || strong * 1.0 / length <= this.strongThreshold && weak * 1.0 / length <= this.weakThreshold;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected int next(final int node, final char c) {
+		int current;
+		int result;
+
+		current = node;
+		result = -1;
+		while (result < 0)
+			if (current == 0)
+				result = c < SpamMatcher.ROOT_RANGE ? this.rootTargets[c] : Math.max(0, this.child(0, c));
+			else {
+				result = this.child(current, c);
+				current = this.failures[current];
+			}
+
+		return result;
+	}
+
+	protected int child(final int node, final char c) {
+		int low;
+		int high;
+		int middle;
+
+		low = this.edgeStart[node];
+		high = this.edgeStart[node + 1] - 1;
+		while (low <= high) {
+			middle = (low + high) >>> 1;
+			if (this.edgeLabels[middle] < c)
+				low = middle + 1;
+			else if (this.edgeLabels[middle] > c)
+				high = middle - 1;
+			else
+				return this.edgeTargets[middle];
+		}
+
+		return -1;
+	}
+
+	// Adds every copy of a term in the given list to its weight in that list, normalised as the
+	// texts are.
+	protected static void count(final String list, final int which, final Map<String, int[]> weights) {
+		StringBuilder term;
+
+		for (final String part : list.split(SpamMatcher.SEPARATOR)) {
+			term = new StringBuilder(part.length());
+			for (int i = 0; i < part.length(); i++)
+				if (!Character.isWhitespace(part.charAt(i)))
+					term.append(Character.toLowerCase(part.charAt(i)));
+			if (term.length() != 0)
+				weights.computeIfAbsent(term.toString(), k -> new int[2])[which]++;
+		}
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	// The end of the last occurrence of every term that was counted in the text being scored. The
+	// ends of the previous texts are told apart by the generation in which they were recorded, so
+	// the buffer is neither cleared nor allocated again for every text.
+	public static class Buffer {
+
+		protected int[]	lastEnds	= new int[0];
+		protected int[]	generations	= new int[0];
+		protected int	generation;
+
+
+		protected void reset() {
+			if (this.generation == Integer.MAX_VALUE) {
+				Arrays.fill(this.generations, 0);
+				this.generation = 0;
+			}
+			this.generation++;
+		}
+
+		// Returns true and records the occurrence if it does not overlap the last one of the term.
+		protected boolean accept(final int term, final int end, final int length, final int terms) {
+			boolean result;
+
+			if (this.lastEnds.length < terms) {
+				this.lastEnds = Arrays.copyOf(this.lastEnds, terms);
+				this.generations = Arrays.copyOf(this.generations, terms);
+			}
+
+			result = this.generations[term] != this.generation || end - length >= this.lastEnds[term];
+			if (result) {
+				this.lastEnds[term] = end;
+				this.generations[term] = this.generation;
+			}
+
+			return result;
+		}
+
+	}
+
+}
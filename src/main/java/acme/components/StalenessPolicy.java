@@ -0,0 +1,15 @@
+package acme.components;
+
+/*
+ * What ExchangeRateCache does with a rate whose time to live has expired. Under SERVE_STALE the
+ * expired rate is still served, so conversions never wait for the database or the provider, until
+ * the ExchangeRateRefresher replaces it in the background. Under FETCH the first request that finds
+ * it expired reloads it on its own thread, while concurrent requests for the same pair are served
+ * the expired rate until that load completes. Pairs that have never been loaded are loaded on the
+ * request thread under either policy.
+ */
+public enum StalenessPolicy {
+
+	SERVE_STALE, FETCH
+
+}
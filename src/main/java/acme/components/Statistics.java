@@ -0,0 +1,138 @@
+package acme.components;
+
+/*
+ * Mergeable running statistics over a stream of amounts: count, minimum, maximum, mean and the
+ * sum of squared deviations, kept with Welford's update so that neither a full scan nor the raw
+ * values are needed. The deviation is the population one, as reported by the database stddev.
+ */
+public class Statistics {
+
+	// Internal state ---------------------------------------------------------
+
+	protected long		count;
+
+	protected double	mean;
+
+	protected double	squares;
+
+	protected double	min;
+
+	protected double	max;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public Statistics() {
+		this.min = Double.POSITIVE_INFINITY;
+		this.max = Double.NEGATIVE_INFINITY;
+	}
+
+	public static Statistics of(final long count, final double sum, final double sumOfSquares, final double min, final double max) {
+		Statistics result;
+
+		result = new Statistics();
+		if (count > 0) {
+			result.count = count;
+			result.mean = sum / count;
+			result.squares = Math.max(0.0, sumOfSquares - sum * result.mean);
+			result.min = min;
+			result.max = max;
+		}
+
+		return result;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public long getCount() {
+		return this.count;
+	}
+
+	public Double getMin() {
+		return this.count == 0 ? null : this.min;
+	}
+
+	public Double getMax() {
+		return this.count == 0 ? null : this.max;
+	}
+
+	public Double getAverage() {
+		return this.count == 0 ? null : this.mean;
+	}
+
+	public Double getDeviation() {
+		return this.count == 0 ? null : Math.sqrt(this.squares / this.count);
+	}
+
+	// Returns the statistics of the values multiplied by a positive factor, such as an exchange rate.
+	public Statistics scale(final double factor) {
+		assert factor > 0.0;
+
+		Statistics result;
+
+		result = new Statistics();
+		if (this.count != 0) {
+			result.count = this.count;
+			result.mean = this.mean * factor;
+			result.squares = this.squares * factor * factor;
+			result.min = this.min * factor;
+			result.max = this.max * factor;
+		}
+
+		return result;
+	}
+
+	public void add(final double value) {
+		double delta;
+
+		this.count++;
+		delta = value - this.mean;
+		this.mean += delta / this.count;
+		this.squares += delta * (value - this.mean);
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	// Returns false when the removed value was an extreme, since the minimum and maximum can no
+	// longer be known without a scan.
+	public boolean remove(final double value) {
+		assert this.count > 0;
+
+		boolean result;
+		double delta;
+
+		result = this.count == 1 || value > this.min && value < this.max;
+		if (this.count == 1) {
+			this.count = 0;
+			this.mean = 0.0;
+			this.squares = 0.0;
+			this.min = Double.POSITIVE_INFINITY;
+			this.max = Double.NEGATIVE_INFINITY;
+		} else {
+			this.count--;
+			delta = value - this.mean;
+			this.mean -= delta / this.count;
+			this.squares = Math.max(0.0, this.squares - delta * (value - this.mean));
+		}
+
+		return result;
+	}
+
+	public void merge(final Statistics other) {
+		assert other != null;
+
+		long total;
+		double delta;
+
+		if (other.count != 0) {
+			total = this.count + other.count;
+			delta = other.mean - this.mean;
+			this.squares += other.squares + delta * delta * this.count * other.count / total;
+			this.mean += delta * other.count / total;
+			this.count = total;
+			this.min = Math.min(this.min, other.min);
+			this.max = Math.max(this.max, other.max);
+		}
+	}
+
+}
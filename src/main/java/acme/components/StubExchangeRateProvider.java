@@ -0,0 +1,79 @@
+package acme.components;
+
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import acme.framework.helpers.StringHelper;
+
+/*
+ * Deterministic, in-memory provider for tests and benchmarks. Every currency has a fixed value in
+ * euros, so the same pair always gets the same rate and no network is involved.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.exchange-rates.provider", havingValue = "stub")
+public class StubExchangeRateProvider implements ExchangeRateProvider {
+
+	// Internal state ---------------------------------------------------------
+
+	protected static final Map<String, Double> VALUES;
+
+	static {
+		VALUES = new HashMap<>();
+		StubExchangeRateProvider.VALUES.put("EUR", 1.0);
+		StubExchangeRateProvider.VALUES.put("USD", 0.95);
+		StubExchangeRateProvider.VALUES.put("GBP", 1.17);
+		StubExchangeRateProvider.VALUES.put("JPY", 0.0068);
+		StubExchangeRateProvider.VALUES.put("CHF", 1.02);
+	}
+
+	// ExchangeRateProvider interface -----------------------------------------
+
+
+	@Override
+	public ExchangeRate getRates(final String baseCurrency, final Collection<String> targetCurrencies) {
+		assert !StringHelper.isBlank(baseCurrency);
+		assert targetCurrencies != null && !targetCurrencies.isEmpty();
+
+		ExchangeRate result;
+		Map<String, Double> rates;
+		Calendar today;
+		double base;
+
+		base = StubExchangeRateProvider.valueOf(baseCurrency);
+		rates = new HashMap<>();
+		for (final String target : targetCurrencies)
+			rates.put(target, base / StubExchangeRateProvider.valueOf(target));
+
+		today = Calendar.getInstance();
+		today.set(Calendar.HOUR_OF_DAY, 0);
+		today.set(Calendar.MINUTE, 0);
+		today.set(Calendar.SECOND, 0);
+		today.set(Calendar.MILLISECOND, 0);
+
+		result = new ExchangeRate();
+		result.setBase(baseCurrency);
+		result.setRates(rates);
+		result.setDate(today.getTime());
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected static double valueOf(final String currency) {
+		double result;
+
+		if (StubExchangeRateProvider.VALUES.containsKey(currency))
+			result = StubExchangeRateProvider.VALUES.get(currency);
+		else
+			result = 0.5 + Math.floorMod(currency.hashCode(), 1000) / 1000.0;
+
+		return result;
+	}
+
+}
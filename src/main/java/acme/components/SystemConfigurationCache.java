@@ -0,0 +1,141 @@
+package acme.components;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Holds the current SystemConfigurationSnapshot, so that the services that need the system
+ * currency, the accepted currencies or the spam lists do not query them on every request. The
+ * snapshot is loaded the first time it is needed and replaced by a newer one when the
+ * configuration is updated on this node, once the update commits. A snapshot is never replaced
+ * by one of an older version of the row, whatever the order in which they are loaded.
+ *
+ * Updates made on other nodes are picked up by polling: every node compares the version of the
+ * row with that of its snapshot every check period and reloads it if they differ, so they are
+ * seen at most one check period late. A SystemConfigurationChangedEvent is published whenever a
+ * snapshot is replaced by a newer one.
+ */
+@Component
+public class SystemConfigurationCache {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected SystemConfigurationRepository							repository;
+
+	@Autowired
+	protected ApplicationEventPublisher								publisher;
+
+	@Value("${acme.system-configuration.check-period:10}")
+	protected long													checkPeriod;
+
+	protected final AtomicReference<SystemConfigurationSnapshot>	snapshot	= new AtomicReference<>();
+
+	protected ScheduledExecutorService								executor;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		if (this.checkPeriod > 0) {
+			this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final Thread result;
+
+				result = new Thread(runnable, "system-configuration-checker");
+				result.setDaemon(true);
+
+				return result;
+			});
+			this.executor.scheduleWithFixedDelay(this::check, this.checkPeriod, this.checkPeriod, TimeUnit.SECONDS);
+		}
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		if (this.executor != null)
+			this.executor.shutdownNow();
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public SystemConfigurationSnapshot get() {
+		SystemConfigurationSnapshot result;
+
+		result = this.snapshot.get();
+		if (result == null)
+			result = this.install(this.load());
+
+		return result;
+	}
+
+	// Loads the configuration as updated by the current transaction and installs it when the
+	// transaction commits, or at once if there is none.
+	public void refresh() {
+		final SystemConfigurationSnapshot loaded;
+
+		loaded = this.load();
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					SystemConfigurationCache.this.install(loaded);
+				}
+			});
+		else
+			this.install(loaded);
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected SystemConfigurationSnapshot load() {
+		return new SystemConfigurationSnapshot(this.repository.findSystemConfiguration());
+	}
+
+	// Installs the given snapshot unless a newer one is installed, and returns the installed one.
+	protected SystemConfigurationSnapshot install(final SystemConfigurationSnapshot candidate) {
+		assert candidate != null;
+
+		SystemConfigurationSnapshot current;
+
+		do {
+			current = this.snapshot.get();
+			if (current != null && current.getVersion() > candidate.getVersion())
+				return current;
+		} while (!this.snapshot.compareAndSet(current, candidate));
+
+		if (current != null && current.getVersion() != candidate.getVersion())
+			this.publisher.publishEvent(new SystemConfigurationChangedEvent(current, candidate));
+
+		return candidate;
+	}
+
+	protected void check() {
+		SystemConfigurationSnapshot current;
+		Integer version;
+
+		try {
+			current = this.snapshot.get();
+			version = this.repository.findVersion();
+			if (current != null && version != null && version != current.getVersion())
+				this.install(this.load());
+		} catch (final RuntimeException oops) {
+			// A failed check must not cancel the next ones.
+		}
+	}
+
+}
@@ -0,0 +1,35 @@
+package acme.components;
+
+/*
+ * Published by the SystemConfigurationCache whenever it replaces its snapshot with one of a newer
+ * version, be it updated on this node or on another one.
+ */
+public class SystemConfigurationChangedEvent {
+
+	// Internal state ---------------------------------------------------------
+
+	private final SystemConfigurationSnapshot	previous;
+	private final SystemConfigurationSnapshot	current;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public SystemConfigurationChangedEvent(final SystemConfigurationSnapshot previous, final SystemConfigurationSnapshot current) {
+		assert previous != null;
+		assert current != null;
+
+		this.previous = previous;
+		this.current = current;
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public SystemConfigurationSnapshot getPrevious() {
+		return this.previous;
+	}
+
+	public SystemConfigurationSnapshot getCurrent() {
+		return this.current;
+	}
+
+}
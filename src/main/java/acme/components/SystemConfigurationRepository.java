@@ -0,0 +1,18 @@
+package acme.components;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import acme.entities.SystemConfiguration;
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface SystemConfigurationRepository extends AbstractRepository {
+
+	@Query("select s from SystemConfiguration s")
+	SystemConfiguration findSystemConfiguration();
+
+	@Query("select s.version from SystemConfiguration s")
+	Integer findVersion();
+
+}
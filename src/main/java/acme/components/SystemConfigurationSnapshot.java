@@ -0,0 +1,62 @@
+package acme.components;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import acme.entities.SystemConfiguration;
+
+/*
+ * An immutable copy of the system configuration as of a version of its row, with the accepted
+ * currencies parsed into a set and the spam lists compiled into a SpamMatcher, so that reading it
+ * costs neither a query nor any parsing.
+ */
+public class SystemConfigurationSnapshot {
+
+	// Constants --------------------------------------------------------------
+
+	public static final String		SEPARATOR	= ";";
+
+	// Internal state ---------------------------------------------------------
+
+	protected final int				version;
+	protected final String			systemCurrency;
+	protected final Set<String>		acceptedCurrencies;
+	protected final SpamMatcher		spamMatcher;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public SystemConfigurationSnapshot(final SystemConfiguration configuration) {
+		assert configuration != null;
+
+		this.version = configuration.getVersion();
+		this.systemCurrency = configuration.getSystemCurrency();
+		this.acceptedCurrencies = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(configuration.getAcceptedCurrencies().split(SystemConfigurationSnapshot.SEPARATOR))));
+		this.spamMatcher = new SpamMatcher(configuration.getStrongSpam(), configuration.getStrongThreshold(), configuration.getWeakSpam(), configuration.getWeakThreshold());
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public int getVersion() {
+		return this.version;
+	}
+
+	public String getSystemCurrency() {
+		return this.systemCurrency;
+	}
+
+	public Set<String> getAcceptedCurrencies() {
+		return this.acceptedCurrencies;
+	}
+
+	public boolean isAccepted(final String currency) {
+		return currency != null && this.acceptedCurrencies.contains(currency);
+	}
+
+	public SpamMatcher getSpamMatcher() {
+		return this.spamMatcher;
+	}
+
+}
@@ -0,0 +1,132 @@
+package acme.components;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import acme.entities.Item;
+import acme.entities.ItemQuantity;
+
+/*
+ * Keeps Toolkit.totalPrice up to date incrementally, so that showing a toolkit is a plain read.
+ * Changes to item quantities and to item prices are applied as deltas in minor units to the affected
+ * toolkits, whose totals are rounded back to minor units, so the deltas do not drift; rate changes
+ * recompute the toolkits that hold items in the affected currency. The consistency check
+ * recomputes every toolkit in bulk and reports, and optionally repairs, the differences.
+ */
+@Component
+public class ToolkitPriceMaintainer {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected ToolkitPriceRepository	repository;
+
+	@Autowired
+	protected SystemConfigurationCache	configuration;
+
+	// Business methods -------------------------------------------------------
+
+
+	@Transactional
+	public void onQuantityCreated(final ItemQuantity quantity) {
+		assert quantity != null;
+
+		this.addToTotalPrice(quantity.getToolkit().getId(), quantity.getQuantity(), quantity.getItem());
+	}
+
+	// Must be called before the updated quantity is saved.
+	@Transactional
+	public void onQuantityUpdated(final ItemQuantity quantity) {
+		assert quantity != null;
+
+		Integer stored;
+
+		stored = this.repository.findStoredQuantityById(quantity.getId());
+		if (stored != null)
+			this.addToTotalPrice(quantity.getToolkit().getId(), quantity.getQuantity() - stored, quantity.getItem());
+	}
+
+	@Transactional
+	public void onQuantityDeleted(final ItemQuantity quantity) {
+		assert quantity != null;
+
+		this.addToTotalPrice(quantity.getToolkit().getId(), -quantity.getQuantity(), quantity.getItem());
+	}
+
+	// Must be called before the updated item is saved.
+	@Transactional
+	public void onItemPriceUpdated(final Item item) {
+		assert item != null;
+
+		Double stored;
+		long delta;
+		String currency;
+
+		stored = this.repository.findStoredConvertedAmountById(item.getId());
+		delta = ToolkitPriceMaintainer.minorUnitsOf(item) - (stored == null ? 0L : MoneyArithmetic.toMinorUnits(stored));
+		currency = this.configuration.get().getSystemCurrency();
+
+		if (delta != 0)
+			for (final ItemQuantity quantity : this.repository.findManyItemQuantitiesByItemId(item.getId()))
+				this.repository.addToTotalPrice(quantity.getToolkit().getId(), MoneyArithmetic.multiply(delta, quantity.getQuantity()), currency);
+	}
+
+	@Transactional
+	public void onConvertedPricesChanged(final String sourceCurrency) {
+		String currency;
+
+		currency = this.configuration.get().getSystemCurrency();
+		for (final Object[] row : this.repository.computeManyTotalPricesByCurrency(sourceCurrency))
+			this.repository.updateTotalPrice((Integer) row[0], ToolkitPriceMaintainer.toAmount(row[1]), currency);
+	}
+
+	@Transactional
+	public Map<Integer, Double> checkConsistency(final boolean repair) {
+		Map<Integer, Double> result;
+		Map<Integer, Double> expected;
+		String currency;
+		Integer id;
+		double stored, computed;
+
+		expected = new HashMap<>();
+		for (final Object[] row : this.repository.computeManyTotalPrices())
+			expected.put((Integer) row[0], ToolkitPriceMaintainer.toAmount(row[1]));
+
+		result = new HashMap<>();
+		for (final Object[] row : this.repository.findManyStoredTotalPrices()) {
+			id = (Integer) row[0];
+			stored = ToolkitPriceMaintainer.toAmount(row[1]);
+			computed = expected.getOrDefault(id, 0.0);
+			if (row[1] == null || Double.compare(stored, computed) != 0)
+				result.put(id, computed);
+		}
+
+		if (repair && !result.isEmpty()) {
+			currency = this.configuration.get().getSystemCurrency();
+			for (final Map.Entry<Integer, Double> entry : result.entrySet())
+				this.repository.updateTotalPrice(entry.getKey(), entry.getValue(), currency);
+		}
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void addToTotalPrice(final int toolkitId, final int quantity, final Item item) {
+		if (quantity != 0)
+			this.repository.addToTotalPrice(toolkitId, MoneyArithmetic.multiply(ToolkitPriceMaintainer.minorUnitsOf(item), quantity), this.configuration.get().getSystemCurrency());
+	}
+
+	protected static long minorUnitsOf(final Item item) {
+		return item.getConvertedPrice() == null || item.getConvertedPrice().getAmount() == null ? 0L : MoneyArithmetic.toMinorUnits(item.getConvertedPrice().getAmount());
+	}
+
+	protected static double toAmount(final Object value) {
+		return value == null ? 0.0 : MoneyArithmetic.toAmount(MoneyArithmetic.toMinorUnits(((Number) value).doubleValue()));
+	}
+
+}
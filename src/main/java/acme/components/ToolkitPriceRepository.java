@@ -0,0 +1,50 @@
+package acme.components;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import acme.entities.ItemQuantity;
+import acme.framework.repositories.AbstractRepository;
+
+@Repository
+public interface ToolkitPriceRepository extends AbstractRepository {
+
+	@Query("select iq from ItemQuantity iq where iq.item.id = :itemId")
+	Collection<ItemQuantity> findManyItemQuantitiesByItemId(int itemId);
+
+	// The following queries must not flush pending changes, since they read the values stored before them.
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query("select iq.quantity from ItemQuantity iq where iq.id = :id")
+	Integer findStoredQuantityById(int id);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query("select i.convertedPrice.amount from Item i where i.id = :id")
+	Double findStoredConvertedAmountById(int id);
+
+	@Query("select t.id, t.totalPrice.amount from Toolkit t")
+	List<Object[]> findManyStoredTotalPrices();
+
+	@Query("select iq.toolkit.id, sum(iq.quantity * iq.item.convertedPrice.amount) from ItemQuantity iq group by iq.toolkit.id")
+	List<Object[]> computeManyTotalPrices();
+
+	@Query("select iq.toolkit.id, sum(iq.quantity * iq.item.convertedPrice.amount) from ItemQuantity iq where iq.toolkit.id in (select q.toolkit.id from ItemQuantity q where q.item.retailPrice.currency = :currency) group by iq.toolkit.id")
+	List<Object[]> computeManyTotalPricesByCurrency(String currency);
+
+	// The delta is in minor units; the total is rounded back to them, so repeated deltas do not drift.
+	@Modifying
+	@Query("update Toolkit t set t.totalPrice.amount = round(coalesce(t.totalPrice.amount, 0) * 100 + :delta) / 100.0, t.totalPrice.currency = :currency where t.id = :id")
+	int addToTotalPrice(int id, long delta, String currency);
+
+	@Modifying
+	@Query("update Toolkit t set t.totalPrice.amount = :amount, t.totalPrice.currency = :currency where t.id = :id")
+	int updateTotalPrice(int id, double amount, String currency);
+
+}
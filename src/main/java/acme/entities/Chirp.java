@@ -3,6 +3,8 @@ package acme.entities;
 import java.util.Date;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.validation.constraints.Email;
@@ -17,6 +19,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = {
+	@Index(columnList = "status")
+})
 @Getter
 @Setter
 public class Chirp extends AbstractEntity {
@@ -47,4 +52,8 @@ public class Chirp extends AbstractEntity {
 	@Email
 	protected String email;
 	
+	// Chirps are only listed once they are published; spam is quarantined.
+	@NotNull
+	protected ChirpStatus status;
+	
 }
@@ -0,0 +1,5 @@
+package acme.entities;
+
+public enum ChirpStatus {
+	PENDING, PUBLISHED, QUARANTINED
+}
@@ -0,0 +1,52 @@
+package acme.entities;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import acme.framework.entities.AbstractEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+/*
+ * The number of items or patronages created on a day and the sum of their prices or budgets, by
+ * category and currency. The category is the item type or the patronage status.
+ */
+@Getter
+@Setter
+@Entity
+@Table(indexes = {
+	@Index(columnList = "subject, date, category, currency", unique = true)
+})
+public class DailyRollup extends AbstractEntity {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	@NotNull
+	protected RollupSubject		subject;
+
+	@NotNull
+	@Temporal(TemporalType.DATE)
+	protected Date				date;
+
+	@NotBlank
+	protected String			category;
+
+	@NotBlank
+	protected String			currency;
+
+	protected long				number;
+
+	protected double			total;
+
+}
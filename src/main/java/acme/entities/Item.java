@@ -4,8 +4,12 @@ import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -21,6 +25,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = {
+	@Index(columnList = "creationMoment")
+})
 @Getter
 @Setter
 public class Item extends AbstractEntity{
@@ -57,6 +64,10 @@ public class Item extends AbstractEntity{
 	
 	protected Date exchangeDate;
 	
+	@NotNull
+	@Temporal(TemporalType.TIMESTAMP)
+	protected Date creationMoment;
+	
 	@URL
 	private String moreInfo;
 	
@@ -0,0 +1,44 @@
+package acme.entities;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import acme.framework.entities.AbstractEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(indexes = {
+	@Index(columnList = "source, target, date", unique = true)
+})
+public class MoneyExchangeHistory extends AbstractEntity {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	@NotBlank
+	protected String			source;
+
+	@NotBlank
+	protected String			target;
+
+	@NotNull
+	@Temporal(TemporalType.DATE)
+	protected Date				date;
+
+	@NotNull
+	protected Double			rate;
+
+}
@@ -0,0 +1,5 @@
+package acme.entities;
+
+public enum RollupSubject {
+	ITEM, PATRONAGE
+}
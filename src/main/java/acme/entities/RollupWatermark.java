@@ -0,0 +1,37 @@
+package acme.entities;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+
+import acme.framework.entities.AbstractEntity;
+import lombok.Getter;
+import lombok.Setter;
+
+/*
+ * The latest creation moment that has been folded into the daily rollups of a subject.
+ */
+@Getter
+@Setter
+@Entity
+public class RollupWatermark extends AbstractEntity {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	@NotNull
+	@Column(unique = true)
+	protected RollupSubject		subject;
+
+	@NotNull
+	@Temporal(TemporalType.TIMESTAMP)
+	protected Date				moment;
+
+}
@@ -1,13 +1,22 @@
 package acme.features.administrator.dashboards;
 
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
 
 import acme.forms.AdministratorDashboard;
 import acme.framework.controllers.AbstractController;
+import acme.framework.helpers.PrincipalHelper;
 import acme.framework.roles.Administrator;
 
 
@@ -20,6 +29,9 @@ public class AdministratorDashBoardController extends AbstractController<Adminis
 		@Autowired
 		protected AdministratorDashBoardShowService	showService;
 
+		@Autowired
+		protected AdministratorDashboardExporter	exporter;
+
 		
 	// Constructors -----------------------------------------------------------
 
@@ -29,5 +41,26 @@ public class AdministratorDashBoardController extends AbstractController<Adminis
 			super.addCommand("show", this.showService);
 		}
 
-}
+	// Export -----------------------------------------------------------------
+
+		// Commands render views, so the export is a plain handler that writes the CSV to the
+		// response as it is read from the database.
+		@GetMapping("/administrator/administrator-dashboard/export")
+		public void export(final HttpServletResponse response) throws IOException {
+			assert response != null;
 
+			Writer writer;
+
+			if (!PrincipalHelper.get().hasRole(Administrator.class)) {
+				response.sendError(HttpServletResponse.SC_FORBIDDEN);
+				return;
+			}
+
+			response.setContentType("text/csv; charset=UTF-8");
+			response.setHeader("Content-Disposition", "attachment; filename=\"administrator-dashboard.csv\"");
+			writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), this.exporter.getBufferSize());
+			this.exporter.export(writer);
+			writer.flush();
+		}
+
+}
@@ -1,20 +1,18 @@
 
 package acme.features.administrator.dashboards;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Future;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
+import acme.components.QueryFanOut;
 import acme.forms.AdministratorDashboard;
+import acme.forms.GroupQuantiles;
+import acme.forms.GroupStatistics;
+import acme.forms.GroupTrends;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Request;
-import acme.framework.datatypes.Money;
 import acme.framework.roles.Administrator;
 import acme.framework.services.AbstractShowService;
 
@@ -24,7 +22,19 @@ public class AdministratorDashBoardShowService implements AbstractShowService<Ad
 	// Internal state ---------------------------------------------------------
 
 	@Autowired
-	protected AdministratorDashboardRepository repository;
+	protected AdministratorDashboardCache	cache;
+
+	@Autowired
+	protected ItemPriceSketchStore			sketches;
+
+	@Autowired
+	protected AdministratorDashboardTrends	trends;
+
+	@Autowired
+	protected ChimpumStatisticsMaintainer	chimpums;
+
+	@Autowired
+	protected QueryFanOut					fanOut;
 
 	// AbstractShowService<Administrator, AdministratorDashboard> interface ---------------------------
 
@@ -40,98 +50,24 @@ public class AdministratorDashBoardShowService implements AbstractShowService<Ad
 	public AdministratorDashboard findOne(final Request<AdministratorDashboard> request) {
 		assert request != null;
 
-		final int totalNumOfComponents = this.repository.totalNumOfComponents();
-		final int totalNumOfTools = this.repository.totalNumOfTools();
-		final int numberOfAcceptedPatronages = this.repository.numberOfAcceptedPatronages();
-		final int numberOfDeniedPatronages = this.repository.numberOfDeniedPatronages();
-		final int numberOfProposedPatronages = this.repository.numberOfProposedPatronages();
-		final List<Object[]> minPriceOfComponents = this.repository.minPriceOfComponents();
-		final List<Object[]> maxPriceOfComponents = this.repository.maxPriceOfComponents();
-		final List<Object[]> averagePriceOfComponents = this.repository.averagePriceOfComponents();
-		final List<Object[]> deviationPriceOfComponents = this.repository.deviationPriceOfComponents();
-		final List<Object[]> minPriceOfTools = this.repository.minPriceOfTools();
-		final List<Object[]> maxPriceOfTools = this.repository.maxPriceOfTools();
-		final List<Object[]> averagePriceOfTools = this.repository.averagePriceOfTools();
-		final List<Object[]> deviationPriceOfTools = this.repository.deviationPriceOfTools();
-		final Double minPriceOfAcceptedPatronages = this.repository.minBudgetAcceptedPatronages();
-		final Double maxPriceOfAcceptedPatronages = this.repository.maxBudgetAcceptedPatronages();
-		final Double averagePriceOfAcceptedPatronages = this.repository.averageBudgetAcceptedPatronages();
-		final Double deviationPriceOfAcceptedPatronages = this.repository.deviationBudgetAcceptedPatronages();
-		final Double minPriceOfDeniedPatronages = this.repository.minBudgetDeniedPatronages();
-		final Double maxPriceOfDeniedPatronages = this.repository.maxBudgetDeniedPatronages();
-		final Double averagePriceOfDeniedPatronages = this.repository.averageBudgetDeniedPatronages();
-		final Double deviationPriceOfDeniedPatronages = this.repository.deviationBudgetDeniedPatronages();
-		final Double minPriceOfProposedPatronages = this.repository.minBudgetProposedPatronages();
-		final Double maxPriceOfProposedPatronages = this.repository.maxBudgetProposedPatronages();
-		final Double averagePriceOfProposedPatronages = this.repository.averageBudgetProposedPatronages();
-		final Double deviationPriceOfProposedPatronages = this.repository.deviationBudgetProposedPatronages();
-		
-		//Chimpum
-		final double ratioWithChimpum = (double) this.repository.totalNumOfToolsWithChimPum()/this.repository.totalNumOfTools();
-		//final double ratioWithChimpum = (double) this.repository.totalNumOfComponentsWithChimPum()/this.repository.totalNumOfComponents();
-		
-		final int totalNumChimpum = this.repository.numberOfChimpumWhithItem();
-		final List<Object[]> desviationChimpum = this.repository.deviationChimpum();
-		final List<Object[]> averageChimpum = this.repository.averageChimpum();
-		final List<Object[]> maxChimpum = this.repository.maxChimpum();
-		final List<Object[]> minChimpum = this.repository.minChimpum();
-
-
-		final Map<String, List<Pair<Double,String>>> priceOfComponentsStats = new HashMap<>();
-		
-		priceOfComponentsStats.put("max", this.objectListToPairList(maxPriceOfComponents));
-		priceOfComponentsStats.put("min", this.objectListToPairList(minPriceOfComponents));
-		priceOfComponentsStats.put("average", this.objectListToPairList(averagePriceOfComponents));
-		priceOfComponentsStats.put("deviation", this.objectListToPairList(deviationPriceOfComponents));
-
-		final Map<String, List<Money>> priceOfToolsStats = new HashMap<>();
-
-		priceOfToolsStats.put("max", this.objectListToMoneyList(maxPriceOfTools));
-		priceOfToolsStats.put("min", this.objectListToMoneyList(minPriceOfTools));
-		priceOfToolsStats.put("average", this.objectListToMoneyList(averagePriceOfTools));
-		priceOfToolsStats.put("deviation", this.objectListToMoneyList(deviationPriceOfTools));
-
-		final Map<String, Integer> numberOfPatronages = new HashMap<>();
-		numberOfPatronages.put("accepted", numberOfAcceptedPatronages);
-		numberOfPatronages.put("denied", numberOfDeniedPatronages);
-		numberOfPatronages.put("proposed", numberOfProposedPatronages);
-
-		final Map<String, Double> patronageStats = new HashMap<>();
-		patronageStats.put("maxAccepted", maxPriceOfAcceptedPatronages);
-		patronageStats.put("minAccepted", minPriceOfAcceptedPatronages);
-		patronageStats.put("averageAccepted", averagePriceOfAcceptedPatronages);
-		patronageStats.put("deviationAccepted", deviationPriceOfAcceptedPatronages);
-		patronageStats.put("maxDenied", maxPriceOfDeniedPatronages);
-		patronageStats.put("minDenied", minPriceOfDeniedPatronages);
-		patronageStats.put("averageDenied", averagePriceOfDeniedPatronages);
-		patronageStats.put("deviationDenied", deviationPriceOfDeniedPatronages);
-		patronageStats.put("maxProposed", maxPriceOfProposedPatronages);
-		patronageStats.put("minProposed", minPriceOfProposedPatronages);
-		patronageStats.put("averageProposed", averagePriceOfProposedPatronages);
-		patronageStats.put("deviationProposed", deviationPriceOfProposedPatronages);
-		
-		//Chimpum
-		final Map<String, List<Pair<Double,String>>> ChimpumStats = new HashMap<>();
-		
-		ChimpumStats.put("desviation", this.objectListToPairList(desviationChimpum));
-		ChimpumStats.put("average", this.objectListToPairList(averageChimpum));
-		ChimpumStats.put("max", this.objectListToPairList(maxChimpum));
-		ChimpumStats.put("min", this.objectListToPairList(minChimpum));
+		AdministratorDashboard result;
+		long deadline;
+		AdministratorDashboardCache.Lookup lookup;
+		Future<GroupQuantiles> quantiles;
+		Future<GroupTrends> creationTrends;
 
+		// Every query is submitted before any is joined, and none submits others.
+		deadline = this.fanOut.deadline();
+		lookup = this.cache.lookUp(deadline);
+		quantiles = this.fanOut.submit(this.sketches::getQuantiles, deadline);
+		creationTrends = this.fanOut.submit(this.trends::getTrends, deadline);
 
-		final AdministratorDashboard result = new AdministratorDashboard();
+		result = this.cache.getDashboard(lookup, deadline);
+		this.chimpums.describe(result);
+		result.setPriceQuantiles(this.fanOut.join(quantiles, deadline));
+		result.setCreationTrends(this.fanOut.join(creationTrends, deadline));
+		result.setPartial(result.isPartial() || result.getPriceQuantiles() == null || result.getCreationTrends() == null);
 
-		result.setTotalNumComponents(totalNumOfComponents);
-		result.setTotalNumTools(totalNumOfTools);
-		result.setNumberOfPatronages(numberOfPatronages);
-		result.setPriceOfComponentsStats(priceOfComponentsStats);
-		result.setPriceOfToolsStats(priceOfToolsStats);
-		result.setPatronagesStats(patronageStats);
-		
-		//Chimpum
-		result.setChimpumStats(ChimpumStats);
-		result.setTotalNumChimpum(totalNumChimpum);
-		result.setRatioWithChimpum(ratioWithChimpum);
 		return result;
 	}
 
@@ -141,69 +77,36 @@ public class AdministratorDashBoardShowService implements AbstractShowService<Ad
 		assert entity != null;
 		assert model != null;
 
-		request.unbind(entity, model,"ratioWithChimpum", "totalNumComponents", "totalNumTools", "totalNumChimpum");
-		model.setAttribute("numberOfAcceptedPatronages", entity.getNumberOfPatronages().get("accepted"));
-		model.setAttribute("numberOfDeniedPatronages", entity.getNumberOfPatronages().get("denied"));
-		model.setAttribute("numberOfProposedPatronages", entity.getNumberOfPatronages().get("proposed"));
-		model.setAttribute("maxPriceOfComponents", entity.getPriceOfComponentsStats().get("max"));
-		model.setAttribute("minPriceOfComponents", entity.getPriceOfComponentsStats().get("min"));
-		model.setAttribute("averagePriceOfComponents", entity.getPriceOfComponentsStats().get("average"));
-		model.setAttribute("deviationPriceOfComponents", entity.getPriceOfComponentsStats().get("deviation"));
-		model.setAttribute("maxPriceOfTools", entity.getPriceOfToolsStats().get("max"));
-		model.setAttribute("minPriceOfTools", entity.getPriceOfToolsStats().get("min"));
-		model.setAttribute("averagePriceOfTools", entity.getPriceOfToolsStats().get("average"));
-		model.setAttribute("deviationPriceOfTools", entity.getPriceOfToolsStats().get("deviation"));
-		model.setAttribute("maxAcceptedPatronages", entity.getPatronagesStats().get("maxAccepted"));
-		model.setAttribute("minAcceptedPatronages", entity.getPatronagesStats().get("minAccepted"));
-		model.setAttribute("averageAcceptedPatronages", entity.getPatronagesStats().get("averageAccepted"));
-		model.setAttribute("deviationAcceptedPatronages", entity.getPatronagesStats().get("deviationAccepted"));
-		model.setAttribute("maxDeniedPatronages", entity.getPatronagesStats().get("maxDenied"));
-		model.setAttribute("minDeniedPatronages", entity.getPatronagesStats().get("minDenied"));
-		model.setAttribute("averageDeniedPatronages", entity.getPatronagesStats().get("averageDenied"));
-		model.setAttribute("deviationDeniedPatronages", entity.getPatronagesStats().get("deviationDenied"));
-		model.setAttribute("maxProposedPatronages", entity.getPatronagesStats().get("maxProposed"));
-		model.setAttribute("minProposedPatronages", entity.getPatronagesStats().get("minProposed"));
-		model.setAttribute("averageProposedPatronages", entity.getPatronagesStats().get("averageProposed"));
-		model.setAttribute("deviationProposedPatronages", entity.getPatronagesStats().get("deviationProposed"));
+		GroupStatistics patronages;
+
+		request.unbind(entity, model,"ratioWithChimpum", "totalNumComponents", "totalNumTools", "totalNumChimpum", "systemCurrency", "partial");
+		model.setAttribute("priceOfComponents", entity.getPriceOfComponentsStats());
+		model.setAttribute("priceOfTools", entity.getPriceOfToolsStats());
+		model.setAttribute("priceQuantiles", entity.getPriceQuantiles());
+
+		patronages = entity.getPatronagesStats();
+		for (int i = 0; i < patronages.getSize(); i++) {
+			final String status = patronages.getGroups()[i];
+
+			model.setAttribute("numberOf" + status + "Patronages", patronages.getCounts()[i]);
+			model.setAttribute("max" + status + "Patronages", AdministratorDashBoardShowService.valueOf(patronages.getMax()[i]));
+			model.setAttribute("min" + status + "Patronages", AdministratorDashBoardShowService.valueOf(patronages.getMin()[i]));
+			model.setAttribute("average" + status + "Patronages", AdministratorDashBoardShowService.valueOf(patronages.getAverage()[i]));
+			model.setAttribute("deviation" + status + "Patronages", AdministratorDashBoardShowService.valueOf(patronages.getDeviation()[i]));
+		}
+		model.setAttribute("patronagesByCurrency", entity.getPatronagesStatsByCurrency());
+		model.setAttribute("creationTrends", entity.getCreationTrends());
 		
 		//Chimpum
 		model.setAttribute("ratioWithChimpum",entity.getRatioWithChimpum() );
-		model.setAttribute("desviationChimpum", entity.getChimpumStats().get("desviation"));
-		model.setAttribute("averageChimpum", entity.getChimpumStats().get("average"));
-		model.setAttribute("minChimpum", entity.getChimpumStats().get("min"));
-		model.setAttribute("maxChimpum", entity.getChimpumStats().get("max"));
+		model.setAttribute("chimpums", entity.getChimpumStats());
 
 	}
 
-	private List<Money> objectListToMoneyList(final List<Object[]> list) {
-		final List<Money> res = new ArrayList<Money>();
-		for (final Object[] object : list) {
-			final Money money = new Money();
-			money.setAmount((Double) object[0]);
-			money.setCurrency((String) object[1]);
-			res.add(money);
-		}
-		return res;
-	}
-	
-	private List<Pair<Double,String>> objectListToPairList(final List<Object[]> list) {
-		final List<Pair<Double,String>> res = new ArrayList<Pair<Double,String>>();
-		for (final Object[] object : list) {
-			String string = "";
-			for (int i = 1; i<object.length;i++) {
-					final Double value = (Double) object[0];
-					while (i<object.length-1) {
-						string += ((String) object[i]) + ", ";
-						i++;
-					}
-					string += ((String) object[i]);
-					res.add(Pair.of(value, string));
-					
-			}
-			
-			
-			
-		}
-		return res;
+	// Ancillary methods ------------------------------------------------------
+
+	protected static Double valueOf(final double statistic) {
+		return Double.isNaN(statistic) ? null : statistic;
 	}
-}
\ No newline at end of file
+
+}
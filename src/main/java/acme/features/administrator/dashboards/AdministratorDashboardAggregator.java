@@ -0,0 +1,89 @@
+package acme.features.administrator.dashboards;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import acme.components.QueryFanOut;
+import acme.components.SystemConfigurationCache;
+
+/*
+ * Computes the administrator dashboard snapshot with one grouped query per table. Each query returns
+ * typed rows with the moments of every group (count, sum, sum of squares, min and max) as
+ * Statistics, which are merged when the dashboard groups are coarser than the query groups. The
+ * queries are independent, so they are submitted to the QueryFanOut, together with the other queries
+ * of the page, before any of them is joined. The system currency is taken from the in-memory system
+ * configuration. The chimpum statistics are kept apart by the ChimpumStatisticsMaintainer.
+ */
+@Component
+public class AdministratorDashboardAggregator {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardRepository	repository;
+
+	@Autowired
+	protected QueryFanOut						fanOut;
+
+	@Autowired
+	protected SystemConfigurationCache			configuration;
+
+	// Business methods -------------------------------------------------------
+
+
+	// Starts the queries, which must finish by the deadline, given by System.nanoTime.
+	public Aggregation submit(final long deadline) {
+		Aggregation result;
+
+		result = new Aggregation();
+		result.systemCurrency = this.configuration.get().getSystemCurrency();
+		result.items = this.fanOut.submit(this.repository::findManyItemStatistics, deadline);
+		result.patronages = this.fanOut.submit(this.repository::findManyPatronageStatistics, deadline);
+
+		return result;
+	}
+
+	// The snapshot is partial if some query does not finish by the deadline.
+	public AdministratorDashboardSnapshot join(final Aggregation aggregation, final long deadline) {
+		assert aggregation != null;
+
+		AdministratorDashboardSnapshot result;
+		List<StatisticsRow> rows;
+
+		result = new AdministratorDashboardSnapshot();
+		result.setSystemCurrency(aggregation.systemCurrency);
+
+		rows = this.fanOut.join(aggregation.items, deadline);
+		if (rows != null)
+			for (final StatisticsRow row : rows)
+				result.mergeItems(row.getType(), row.getTechnology(), row.getCurrency(), row.getStatistics());
+		else
+			result.setPartial(true);
+
+		rows = this.fanOut.join(aggregation.patronages, deadline);
+		if (rows != null)
+			for (final StatisticsRow row : rows)
+				result.mergePatronages(row.getStatus(), row.getCurrency(), row.getStatistics());
+		else
+			result.setPartial(true);
+
+		if (result.getSystemCurrency() == null)
+			result.setPartial(true);
+
+		return result;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	public static class Aggregation {
+
+		protected String						systemCurrency;
+		protected Future<List<StatisticsRow>>	items;
+		protected Future<List<StatisticsRow>>	patronages;
+
+	}
+
+}
@@ -0,0 +1,173 @@
+package acme.features.administrator.dashboards;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import acme.components.ExchangeRateCache;
+import acme.components.ItemChangedEvent;
+import acme.components.PatronageChangedEvent;
+import acme.components.SystemConfigurationChangedEvent;
+import acme.forms.AdministratorDashboard;
+
+/*
+ * Keeps a snapshot of the administrator dashboard for acme.dashboards.time-to-live minutes. Committed
+ * changes to items and patronages are applied to the snapshot as deltas, so it does not
+ * go stale in between; a change that makes a group inexact, such as removing its minimum, discards
+ * the snapshot and the next read computes it again. A snapshot computed while a change was being
+ * applied is served but not kept, since it may or may not include that change. Patronage budgets
+ * are normalised into the system currency with the current rates every time the dashboard is read,
+ * so rate changes need no invalidation; a change of the system currency discards the snapshot.
+ */
+@Component
+public class AdministratorDashboardCache {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardAggregator	aggregator;
+
+	@Autowired
+	protected ExchangeRateCache					exchangeRates;
+
+	@Value("${acme.dashboards.time-to-live:5}")
+	protected long								timeToLive;
+
+	protected AdministratorDashboardSnapshot	snapshot;
+
+	protected long								expiration;
+
+	protected long								version;
+
+	// Business methods -------------------------------------------------------
+
+
+	// Returns the snapshot to serve or, if it has to be computed, submits its queries, which must
+	// finish by the deadline, given by System.nanoTime; the dashboard is then got with getDashboard
+	// once the other queries of the page are submitted.
+	public Lookup lookUp(final long deadline) {
+		Lookup result;
+
+		result = new Lookup();
+		synchronized (this) {
+			result.snapshot = this.snapshot != null && System.currentTimeMillis() < this.expiration ? this.snapshot : null;
+			result.currencies = result.snapshot == null ? null : result.snapshot.getPatronageCurrencies();
+			result.version = this.version;
+		}
+		if (result.snapshot == null)
+			result.aggregation = this.aggregator.submit(deadline);
+
+		return result;
+	}
+
+	// A snapshot that has to be computed is partial if its queries do not finish by the deadline;
+	// partial snapshots are not kept.
+	public AdministratorDashboard getDashboard(final Lookup lookup, final long deadline) {
+		assert lookup != null;
+
+		AdministratorDashboardSnapshot current;
+		AdministratorDashboardSnapshot computed;
+		Set<String> currencies;
+		Map<String, Double> rates;
+
+		current = lookup.snapshot;
+		currencies = lookup.currencies;
+		if (current == null) {
+			computed = this.aggregator.join(lookup.aggregation, deadline);
+			currencies = computed.getPatronageCurrencies();
+			synchronized (this) {
+				if (this.version == lookup.version && !computed.isPartial()) {
+					this.snapshot = computed;
+					this.expiration = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(this.timeToLive);
+				}
+			}
+			current = computed;
+		}
+
+		// Rates may have to be fetched, so they are never looked up while holding the lock.
+		rates = new HashMap<>();
+		if (current.getSystemCurrency() != null)
+			for (final String currency : currencies) {
+				final Double rate = this.exchangeRates.getRate(currency, current.getSystemCurrency());
+				if (rate != null)
+					rates.put(currency, rate);
+			}
+
+		synchronized (this) {
+			return current.toDashboard(rates);
+		}
+	}
+
+	public synchronized void invalidate() {
+		this.version++;
+		this.snapshot = null;
+	}
+
+	@EventListener
+	public void onSystemConfigurationChanged(final SystemConfigurationChangedEvent event) {
+		assert event != null;
+
+		if (!event.getCurrent().getSystemCurrency().equals(event.getPrevious().getSystemCurrency()))
+			this.invalidate();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onItemChanged(final ItemChangedEvent event) {
+		assert event != null;
+
+		ItemChangedEvent.State previous;
+		ItemChangedEvent.State current;
+		boolean exact;
+
+		// Changes that only publish an item or link a chimpum to it do not alter its group.
+		previous = event.getPrevious();
+		current = event.getCurrent();
+		if (previous != null && current != null && previous.getType() == current.getType() && previous.getCurrency().equals(current.getCurrency()) //
+			&& previous.getTechnology().equals(current.getTechnology()) && previous.getAmount() == current.getAmount())
+			return;
+
+		this.version++;
+		if (this.snapshot != null) {
+			exact = previous == null || this.snapshot.removeItem(previous);
+			if (current != null)
+				this.snapshot.addItem(current);
+			if (!exact)
+				this.snapshot = null;
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onPatronageChanged(final PatronageChangedEvent event) {
+		assert event != null;
+
+		boolean exact;
+
+		this.version++;
+		if (this.snapshot != null) {
+			exact = event.getPrevious() == null || this.snapshot.removePatronage(event.getPrevious());
+			if (event.getCurrent() != null)
+				this.snapshot.addPatronage(event.getCurrent());
+			if (!exact)
+				this.snapshot = null;
+		}
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	public static class Lookup {
+
+		protected AdministratorDashboardSnapshot				snapshot;
+		protected Set<String>									currencies;
+		protected long											version;
+		protected AdministratorDashboardAggregator.Aggregation	aggregation;
+
+	}
+
+}
@@ -0,0 +1,134 @@
+package acme.features.administrator.dashboards;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+
+import acme.components.ExchangeRateCache;
+import acme.components.MoneyArithmetic;
+import acme.components.SystemConfigurationCache;
+
+/*
+ * Writes the items and the patronages behind the administrator dashboard as CSV, one row each,
+ * with their prices and budgets converted into the system currency. Rows are streamed from a
+ * forward-only cursor and written as they are read, so the heap that an export takes does not
+ * depend on the number of rows; the writer is expected to buffer the output. The rates of the
+ * patronage currencies are resolved before the cursors are opened, since no other query may run
+ * on the connection while they are.
+ */
+@Component
+public class AdministratorDashboardExporter {
+
+	// Constants --------------------------------------------------------------
+
+	public static final String[]					HEADER	= {
+		"subject", "code", "category", "technology", "creation-moment", "currency", "amount", "converted-currency", "converted-amount"
+	};
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardRepository	repository;
+
+	@Autowired
+	protected ExchangeRateCache					exchangeRates;
+
+	@Autowired
+	protected SystemConfigurationCache			configuration;
+
+	@Value("${acme.dashboards.export.buffer:8192}")
+	protected int								bufferSize;
+
+	// Business methods -------------------------------------------------------
+
+
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	@Transactional(readOnly = true)
+	public void export(final Writer writer) throws IOException {
+		assert writer != null;
+
+		ICSVWriter csv;
+		DateFormat format;
+		String systemCurrency;
+		Map<String, Double> rates;
+		String[] line;
+
+		systemCurrency = this.configuration.get().getSystemCurrency();
+		rates = new HashMap<>();
+		for (final String currency : this.repository.findManyPatronageCurrencies())
+			rates.put(currency, currency.equals(systemCurrency) ? Double.valueOf(1.0) : this.exchangeRates.getRate(currency, systemCurrency));
+
+		format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+		line = new String[AdministratorDashboardExporter.HEADER.length];
+		csv = new CSVWriter(writer);
+		csv.writeNext(AdministratorDashboardExporter.HEADER, false);
+
+		try (Stream<Object[]> rows = this.repository.streamItemRows()) {
+			rows.forEach(row -> {
+				line[0] = "ITEM";
+				line[1] = (String) row[0];
+				line[2] = String.valueOf(row[1]);
+				line[3] = (String) row[2];
+				line[4] = format.format((Date) row[3]);
+				line[5] = (String) row[4];
+				line[6] = AdministratorDashboardExporter.print(row[5]);
+				line[7] = (String) row[6];
+				line[8] = AdministratorDashboardExporter.print(row[7]);
+				AdministratorDashboardExporter.write(csv, line);
+			});
+		}
+
+		try (Stream<Object[]> rows = this.repository.streamPatronageRows()) {
+			rows.forEach(row -> {
+				final Double rate = rates.get(row[3]);
+
+				line[0] = "PATRONAGE";
+				line[1] = (String) row[0];
+				line[2] = String.valueOf(row[1]);
+				line[3] = null;
+				line[4] = format.format((Date) row[2]);
+				line[5] = (String) row[3];
+				line[6] = AdministratorDashboardExporter.print(row[4]);
+				line[7] = rate == null ? null : systemCurrency;
+				line[8] = rate == null || row[4] == null ? null : AdministratorDashboardExporter.print(MoneyArithmetic.convert(((Number) row[4]).doubleValue(), rate));
+				AdministratorDashboardExporter.write(csv, line);
+			});
+		}
+
+		csv.flush();
+		if (csv.getException() != null)
+			throw csv.getException();
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	// The writer keeps the first error instead of throwing it; checkError is not used since it
+	// flushes the output.
+	protected static void write(final ICSVWriter csv, final String[] line) {
+		csv.writeNext(line, false);
+		if (csv.getException() != null)
+			throw new UncheckedIOException(csv.getException());
+	}
+
+	protected static String print(final Object amount) {
+		return amount == null ? null : String.valueOf(((Number) amount).doubleValue());
+	}
+
+}
@@ -1,127 +1,76 @@
 package acme.features.administrator.dashboards;
 
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import acme.entities.DailyRollup;
+import acme.entities.ItemType;
 import acme.framework.repositories.AbstractRepository;
 
 @Repository
 public interface AdministratorDashboardRepository extends AbstractRepository{
-	
-	
-	//Components
-	
-	@Query("select count(i) from Item i where i.type = 'COMPONENT'")
-	Integer totalNumOfComponents();
-	
-	@Query("select avg(i.retailPrice.amount),technology,i.retailPrice.currency  from Item i where i.type = 'COMPONENT' GROUP BY i.retailPrice.currency, technology")
-	List<Object[]> averagePriceOfComponents();
-	
-	@Query("select max(i.retailPrice.amount),technology,i.retailPrice.currency from Item i where i.type = 'COMPONENT' GROUP BY i.retailPrice.currency, technology")
-	List<Object[]> maxPriceOfComponents();
-	
-	@Query("select min(i.retailPrice.amount),technology,i.retailPrice.currency from Item i where i.type = 'COMPONENT' GROUP BY i.retailPrice.currency, technology")
-	List<Object[]> minPriceOfComponents();
-	
-	@Query("select stddev(i.retailPrice.amount),technology,i.retailPrice.currency from Item i where i.type = 'COMPONENT' GROUP BY i.retailPrice.currency, technology")
-	List<Object[]> deviationPriceOfComponents();
-	
-	
-	//Tools
-	
-	@Query("select count(i) from Item i where i.type = 'TOOL'")
-	Integer totalNumOfTools();
-	
-	@Query("select avg(i.retailPrice.amount),i.retailPrice.currency from Item i where i.type = 'TOOL' GROUP BY i.retailPrice.currency")
-	List<Object[]> averagePriceOfTools();
-	
-	@Query("select max(i.retailPrice.amount),i.retailPrice.currency from Item i where i.type = 'TOOL' GROUP BY i.retailPrice.currency")
-	List<Object[]> maxPriceOfTools();
-	
-	@Query("select min(i.retailPrice.amount),i.retailPrice.currency from Item i where i.type = 'TOOL' GROUP BY i.retailPrice.currency")
-	List<Object[]> minPriceOfTools();
-	
-	@Query("select stddev(i.retailPrice.amount),i.retailPrice.currency from Item i where i.type = 'TOOL' GROUP BY i.retailPrice.currency")
-	List<Object[]> deviationPriceOfTools();
-	
-	
-	//Patronages
-	
-	@Query("select count(p) from Patronage p where p.status = acme.entities.PatronageStatus.PROPOSED ")
-	Integer  numberOfProposedPatronages();
-	
-	@Query("select count(p) from Patronage p where p.status = acme.entities.PatronageStatus.ACCEPTED ")
-	Integer  numberOfAcceptedPatronages();
-	
-	@Query("select count(p) from Patronage p where p.status = acme.entities.PatronageStatus.DENIED ")
-	Integer  numberOfDeniedPatronages();
-	
-	
-	
-	@Query("select avg(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.PROPOSED GROUP BY p.status")
-	Double averageBudgetProposedPatronages();
-	
-	@Query("select avg(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.ACCEPTED GROUP BY p.status")
-	Double averageBudgetAcceptedPatronages();
-	
-	@Query("select avg(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.DENIED GROUP BY p.status")
-	Double averageBudgetDeniedPatronages();
-	
-	
-	
-	@Query("select stddev(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.PROPOSED ")
-	Double deviationBudgetProposedPatronages();
-
-	@Query("select stddev(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.ACCEPTED ")
-	Double deviationBudgetAcceptedPatronages();
-	
-	@Query("select stddev(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.DENIED ")
-	Double deviationBudgetDeniedPatronages();
-	
-	
-	
-	@Query("select min(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.PROPOSED ")
-	Double minBudgetProposedPatronages();
-	
-	@Query("select min(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.ACCEPTED ")
-	Double minBudgetAcceptedPatronages();
-	
-	@Query("select min(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.DENIED ")
-	Double minBudgetDeniedPatronages();
-	
-
-	
-	@Query("select max(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.PROPOSED ")
-	Double maxBudgetProposedPatronages();
-	
-	@Query("select max(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.ACCEPTED ")
-	Double maxBudgetAcceptedPatronages();
-	
-	@Query("select max(p.budget.amount) from Patronage p where p.status = acme.entities.PatronageStatus.DENIED ")
-	Double maxBudgetDeniedPatronages();
-	
-	
-	//Chimpum
-		@Query("select count(i) from Item i where i.type = 'TOOL' and i.chimpum is not null")
-		Integer totalNumOfToolsWithChimPum();
-		
-		@Query("select count(i) from Item i where i.type = 'COMPONENT' and i.chimpum is not null")
-		Integer totalNumOfComponentsWithChimPum();
-		
-		@Query("select count(i) from Item i where i.chimpum is not null")
-		Integer  numberOfChimpumWhithItem();
-		
-		@Query("select avg(c.budget.amount),c.budget.currency from Chimpum c  GROUP BY c.budget.currency")
-		List<Object[]> averageChimpum();
-		
-		@Query("select stddev(c.budget.amount),c.budget.currency from Chimpum c  GROUP BY c.budget.currency")
-		List<Object[]> deviationChimpum();
-		
-		@Query("select min(c.budget.amount),c.budget.currency from Chimpum c  GROUP BY c.budget.currency")
-		List<Object[]> minChimpum();
-		
-		@Query("select max(c.budget.amount),c.budget.currency from Chimpum c  GROUP BY c.budget.currency")
-		List<Object[]> maxChimpum();
+
+
+	//Items: type, technology, currency, count, sum, sum of squares, min, max
+
+	@Query("select new acme.features.administrator.dashboards.StatisticsRow(i.type, i.technology, i.retailPrice.currency, count(i), sum(i.retailPrice.amount), sum(i.retailPrice.amount * i.retailPrice.amount), min(i.retailPrice.amount), max(i.retailPrice.amount)) from Item i GROUP BY i.type, i.technology, i.retailPrice.currency")
+	List<StatisticsRow> findManyItemStatistics();
+
+
+	//Patronages: status, currency, count, sum, sum of squares, min, max
+
+	@Query("select new acme.features.administrator.dashboards.StatisticsRow(p.status, p.budget.currency, count(p), sum(p.budget.amount), sum(p.budget.amount * p.budget.amount), min(p.budget.amount), max(p.budget.amount)) from Patronage p GROUP BY p.status, p.budget.currency")
+	List<StatisticsRow> findManyPatronageStatistics();
+
+
+	//Chimpum: currency, count, sum, sum of squares, min, max
+
+	@Query("select new acme.features.administrator.dashboards.StatisticsRow(c.budget.currency, count(c), sum(c.budget.amount), sum(c.budget.amount * c.budget.amount), min(c.budget.amount), max(c.budget.amount)) from Chimpum c GROUP BY c.budget.currency")
+	List<StatisticsRow> findManyChimpumStatistics();
+
+
+	//Items by type: type, count, count with chimpum
+
+	@Query("select i.type, count(i), sum(case when i.chimpum is null then 0 else 1 end) from Item i GROUP BY i.type")
+	List<Object[]> findManyItemCountsWithChimpum();
+
+
+	//Daily rollups of the items and patronages created since a day
+
+	@Query("select r from DailyRollup r where r.date >= :since")
+	List<DailyRollup> findManyDailyRollupsSince(Date since);
+
+
+	//Item prices, streamed within a transaction
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select i.type, i.technology, i.retailPrice.currency, i.retailPrice.amount from Item i")
+	Stream<Object[]> findManyItemPrices();
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select i.retailPrice.amount from Item i where i.type = :type and i.technology = :technology and i.retailPrice.currency = :currency")
+	Stream<Double> findManyItemPricesByGroup(ItemType type, String technology, String currency);
+
+
+	//Rows of the export, streamed row by row from a forward-only cursor, which is what a fetch size
+	//of Integer.MIN_VALUE asks the MySQL driver for; no other query may run on the connection
+	//until the stream is closed
+
+	@Query("select distinct p.budget.currency from Patronage p")
+	List<String> findManyPatronageCurrencies();
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "-2147483648"))
+	@Query("select i.code, i.type, i.technology, i.creationMoment, i.retailPrice.currency, i.retailPrice.amount, i.convertedPrice.currency, i.convertedPrice.amount from Item i")
+	Stream<Object[]> streamItemRows();
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "-2147483648"))
+	@Query("select p.code, p.status, p.creationMoment, p.budget.currency, p.budget.amount from Patronage p")
+	Stream<Object[]> streamPatronageRows();
 }
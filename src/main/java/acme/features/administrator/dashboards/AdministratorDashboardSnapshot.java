@@ -0,0 +1,234 @@
+package acme.features.administrator.dashboards;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import acme.components.ItemChangedEvent;
+import acme.components.PatronageChangedEvent;
+import acme.components.Statistics;
+import acme.entities.ItemType;
+import acme.entities.PatronageStatus;
+import acme.forms.AdministratorDashboard;
+import acme.forms.GroupStatistics;
+
+/*
+ * The statistics behind the administrator dashboard, grouped as they are shown. It is built by the
+ * AdministratorDashboardAggregator and kept up to date by the AdministratorDashboardCache, which
+ * adds and removes single values; a removal reports false when the group can no longer be kept
+ * exact, in which case the snapshot must be discarded. Patronage budgets are kept by currency and
+ * normalised into the system currency when the dashboard is built; since a conversion just scales
+ * the values, the statistics of each currency are scaled by its rate and merged, which leaves out
+ * the currencies whose rate is unknown. Every group becomes a column entry of a GroupStatistics.
+ * It is not thread-safe.
+ */
+public class AdministratorDashboardSnapshot {
+
+	// Internal state ---------------------------------------------------------
+
+	// Components by "technology, currency", tools by currency, patronages by status and currency.
+	protected final Map<String, Statistics>							components;
+	protected final Map<String, Statistics>							tools;
+	protected final Map<PatronageStatus, Map<String, Statistics>>	patronages;
+	protected String												systemCurrency;
+	protected boolean												partial;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public AdministratorDashboardSnapshot() {
+		this.components = new LinkedHashMap<>();
+		this.tools = new LinkedHashMap<>();
+		this.patronages = new EnumMap<>(PatronageStatus.class);
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public String getSystemCurrency() {
+		return this.systemCurrency;
+	}
+
+	public void setSystemCurrency(final String systemCurrency) {
+		this.systemCurrency = systemCurrency;
+	}
+
+	// A partial snapshot lacks the groups of some query that did not finish in time.
+	public boolean isPartial() {
+		return this.partial;
+	}
+
+	public void setPartial(final boolean partial) {
+		this.partial = partial;
+	}
+
+	public Set<String> getPatronageCurrencies() {
+		Set<String> result;
+
+		result = new HashSet<>();
+		for (final Map<String, Statistics> byCurrency : this.patronages.values())
+			result.addAll(byCurrency.keySet());
+
+		return result;
+	}
+
+	public void mergeItems(final ItemType type, final String technology, final String currency, final Statistics statistics) {
+		assert type != null;
+		assert statistics != null;
+
+		this.itemGroup(type, technology, currency).merge(statistics);
+	}
+
+	public void mergePatronages(final PatronageStatus status, final String currency, final Statistics statistics) {
+		assert status != null;
+		assert statistics != null;
+
+		this.patronageGroup(status, currency).merge(statistics);
+	}
+
+	public void addItem(final ItemChangedEvent.State item) {
+		assert item != null;
+
+		this.itemGroup(item.getType(), item.getTechnology(), item.getCurrency()).add(item.getAmount());
+	}
+
+	public boolean removeItem(final ItemChangedEvent.State item) {
+		assert item != null;
+
+		Map<String, Statistics> groups;
+		String key;
+
+		groups = item.getType() == ItemType.COMPONENT ? this.components : this.tools;
+		key = AdministratorDashboardSnapshot.itemKey(item.getType(), item.getTechnology(), item.getCurrency());
+
+		return AdministratorDashboardSnapshot.remove(groups, key, item.getAmount());
+	}
+
+	public void addPatronage(final PatronageChangedEvent.State patronage) {
+		assert patronage != null;
+
+		this.patronageGroup(patronage.getStatus(), patronage.getCurrency()).add(patronage.getAmount());
+	}
+
+	public boolean removePatronage(final PatronageChangedEvent.State patronage) {
+		assert patronage != null;
+
+		Map<String, Statistics> byCurrency;
+
+		byCurrency = this.patronages.get(patronage.getStatus());
+
+		return byCurrency != null && AdministratorDashboardSnapshot.remove(byCurrency, patronage.getCurrency(), patronage.getAmount());
+	}
+
+	// The rates convert every patronage currency into the system currency.
+	public AdministratorDashboard toDashboard(final Map<String, Double> rates) {
+		assert rates != null;
+
+		AdministratorDashboard result;
+		GroupStatistics patronageStats;
+		Map<String, GroupStatistics> patronageStatsByCurrency;
+		PatronageStatus[] statuses;
+
+		result = new AdministratorDashboard();
+
+		result.setTotalNumComponents(AdministratorDashboardSnapshot.count(this.components));
+		result.setTotalNumTools(AdministratorDashboardSnapshot.count(this.tools));
+		result.setPriceOfComponentsStats(AdministratorDashboardSnapshot.columnsOf(this.components));
+		result.setPriceOfToolsStats(AdministratorDashboardSnapshot.columnsOf(this.tools));
+
+		statuses = PatronageStatus.values();
+		patronageStats = new GroupStatistics(statuses.length);
+		patronageStatsByCurrency = new HashMap<>();
+		for (int i = 0; i < statuses.length; i++) {
+			final Map<String, Statistics> byCurrency = this.patronages.getOrDefault(statuses[i], Collections.emptyMap());
+			final String name = statuses[i].name().charAt(0) + statuses[i].name().substring(1).toLowerCase();
+			final Statistics normalised = new Statistics();
+
+			for (final Map.Entry<String, Statistics> entry : byCurrency.entrySet()) {
+				final Double rate = rates.get(entry.getKey());
+				if (rate != null && rate > 0.0)
+					normalised.merge(entry.getValue().scale(rate));
+			}
+
+			AdministratorDashboardSnapshot.setColumns(patronageStats, i, name, normalised);
+			patronageStats.getCounts()[i] = AdministratorDashboardSnapshot.count(byCurrency);
+			patronageStatsByCurrency.put(name, AdministratorDashboardSnapshot.columnsOf(byCurrency));
+		}
+		result.setSystemCurrency(this.systemCurrency);
+		result.setPartial(this.partial);
+		result.setPatronagesStats(patronageStats);
+		result.setPatronagesStatsByCurrency(patronageStatsByCurrency);
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected Statistics itemGroup(final ItemType type, final String technology, final String currency) {
+		Map<String, Statistics> groups;
+
+		groups = type == ItemType.COMPONENT ? this.components : this.tools;
+
+		return groups.computeIfAbsent(AdministratorDashboardSnapshot.itemKey(type, technology, currency), k -> new Statistics());
+	}
+
+	protected Statistics patronageGroup(final PatronageStatus status, final String currency) {
+		return this.patronages.computeIfAbsent(status, s -> new LinkedHashMap<>()).computeIfAbsent(currency, c -> new Statistics());
+	}
+
+	protected static String itemKey(final ItemType type, final String technology, final String currency) {
+		return type == ItemType.COMPONENT ? technology + ", " + currency : currency;
+	}
+
+	protected static <K> boolean remove(final Map<K, Statistics> groups, final K key, final double value) {
+		Statistics statistics;
+		boolean result;
+
+		statistics = groups.get(key);
+		if (statistics == null)
+			result = false;
+		else {
+			result = statistics.remove(value);
+			if (statistics.getCount() == 0)
+				groups.remove(key);
+		}
+
+		return result;
+	}
+
+	protected static int count(final Map<String, Statistics> groups) {
+		int result;
+
+		result = 0;
+		for (final Statistics statistics : groups.values())
+			result += statistics.getCount();
+
+		return result;
+	}
+
+	protected static GroupStatistics columnsOf(final Map<String, Statistics> groups) {
+		GroupStatistics result;
+		int index;
+
+		result = new GroupStatistics(groups.size());
+		index = 0;
+		for (final Map.Entry<String, Statistics> entry : groups.entrySet()) {
+			AdministratorDashboardSnapshot.setColumns(result, index, entry.getKey(), entry.getValue());
+			index++;
+		}
+
+		return result;
+	}
+
+	// Empty statistics are stored as NaN.
+	protected static void setColumns(final GroupStatistics columns, final int index, final String group, final Statistics statistics) {
+		if (statistics.getCount() == 0)
+			columns.set(index, group, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		else
+			columns.set(index, group, statistics.getCount(), statistics.getMin(), statistics.getMax(), statistics.getAverage(), statistics.getDeviation());
+	}
+
+}
@@ -0,0 +1,79 @@
+package acme.features.administrator.dashboards;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import acme.entities.DailyRollup;
+import acme.forms.GroupTrends;
+
+/*
+ * Computes how many items and patronages have been created in each period of the last
+ * acme.dashboards.trends.days days, and the sum of their prices or budgets, by item type or
+ * patronage status and currency. The figures are summed from the daily rollups kept by the
+ * DailyRollupMaintainer, so the raw tables are never scanned; the current day is as recent as the
+ * last rollup run.
+ */
+@Component
+public class AdministratorDashboardTrends {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardRepository	repository;
+
+	@Value("${acme.dashboards.trends.days:90}")
+	protected int								days;
+
+	@Value("${acme.dashboards.trends.period:7}")
+	protected int								period;
+
+	// Business methods -------------------------------------------------------
+
+
+	public GroupTrends getTrends() {
+		GroupTrends result;
+		Date first;
+		Date[] starts;
+		List<DailyRollup> rollups;
+		TreeSet<String> names;
+		Map<String, Integer> series;
+
+		first = DateUtils.addDays(DateUtils.truncate(new Date(), Calendar.DATE), 1 - this.days);
+		starts = new Date[(this.days + this.period - 1) / this.period];
+		for (int i = 0; i < starts.length; i++)
+			starts[i] = DateUtils.addDays(first, i * this.period);
+
+		rollups = this.repository.findManyDailyRollupsSince(first);
+		names = new TreeSet<>();
+		for (final DailyRollup rollup : rollups)
+			names.add(AdministratorDashboardTrends.seriesOf(rollup));
+		series = new HashMap<>();
+		for (final String name : names)
+			series.put(name, series.size());
+
+		result = new GroupTrends(starts, names.toArray(new String[names.size()]));
+		for (final DailyRollup rollup : rollups) {
+			final long day = Math.round((double) (rollup.getDate().getTime() - first.getTime()) / DateUtils.MILLIS_PER_DAY);
+
+			result.add(series.get(AdministratorDashboardTrends.seriesOf(rollup)), (int) Math.min(starts.length - 1, day / this.period), rollup.getNumber(), rollup.getTotal());
+		}
+
+		return result;
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected static String seriesOf(final DailyRollup rollup) {
+		return rollup.getSubject() + ", " + rollup.getCategory() + ", " + rollup.getCurrency();
+	}
+
+}
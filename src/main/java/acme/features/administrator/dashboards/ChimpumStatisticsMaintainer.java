@@ -0,0 +1,139 @@
+package acme.features.administrator.dashboards;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import acme.components.ChimpumChangedEvent;
+import acme.components.ItemChangedEvent;
+import acme.components.Statistics;
+import acme.entities.ItemType;
+import acme.forms.AdministratorDashboard;
+
+/*
+ * Keeps the chimpum figures of the administrator dashboard: the number of items of every type with
+ * and without a chimpum and the budget statistics of the chimpums by currency. Each part is loaded
+ * with one grouped query the first time it is read and is then updated with the changes that the
+ * chimpum and item services publish, so the dashboard reads them in constant time. Counts are
+ * always exact; removing the minimum or maximum budget of a currency discards the budgets, which
+ * the next read loads again. Figures loaded while a change was being applied are served but not
+ * kept.
+ */
+@Component
+public class ChimpumStatisticsMaintainer {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardRepository	repository;
+
+	// Items without and with a chimpum, indexed by type, or null until they are loaded.
+	protected long[][]							counts;
+
+	// Budgets by currency, or null until they are loaded.
+	protected Map<String, Statistics>			budgets;
+
+	protected long								version;
+
+	// Business methods -------------------------------------------------------
+
+
+	public void describe(final AdministratorDashboard dashboard) {
+		assert dashboard != null;
+
+		long[][] counts;
+		Map<String, Statistics> budgets;
+		long loadedVersion;
+
+		synchronized (this) {
+			if (this.counts != null && this.budgets != null) {
+				ChimpumStatisticsMaintainer.describe(this.counts, this.budgets, dashboard);
+				return;
+			}
+			counts = this.counts;
+			budgets = this.budgets;
+			loadedVersion = this.version;
+		}
+
+		if (counts == null)
+			counts = this.loadCounts();
+		if (budgets == null)
+			budgets = this.loadBudgets();
+
+		synchronized (this) {
+			if (this.version == loadedVersion) {
+				this.counts = counts;
+				this.budgets = budgets;
+			}
+			ChimpumStatisticsMaintainer.describe(counts, budgets, dashboard);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onItemChanged(final ItemChangedEvent event) {
+		assert event != null;
+
+		this.version++;
+		if (this.counts != null) {
+			if (event.getPrevious() != null)
+				this.counts[event.getPrevious().getType().ordinal()][event.getPrevious().isWithChimpum() ? 1 : 0]--;
+			if (event.getCurrent() != null)
+				this.counts[event.getCurrent().getType().ordinal()][event.getCurrent().isWithChimpum() ? 1 : 0]++;
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onChimpumChanged(final ChimpumChangedEvent event) {
+		assert event != null;
+
+		this.version++;
+		if (this.budgets != null && event.getPrevious() != null && !AdministratorDashboardSnapshot.remove(this.budgets, event.getPrevious().getCurrency(), event.getPrevious().getAmount()))
+			this.budgets = null;
+		if (this.budgets != null && event.getCurrent() != null)
+			this.budgets.computeIfAbsent(event.getCurrent().getCurrency(), c -> new Statistics()).add(event.getCurrent().getAmount());
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected long[][] loadCounts() {
+		long[][] result;
+		ItemType type;
+
+		result = new long[ItemType.values().length][2];
+		for (final Object[] row : this.repository.findManyItemCountsWithChimpum()) {
+			type = (ItemType) row[0];
+			result[type.ordinal()][1] = ((Number) row[2]).longValue();
+			result[type.ordinal()][0] = ((Number) row[1]).longValue() - result[type.ordinal()][1];
+		}
+
+		return result;
+	}
+
+	protected Map<String, Statistics> loadBudgets() {
+		Map<String, Statistics> result;
+
+		result = new LinkedHashMap<>();
+		for (final StatisticsRow row : this.repository.findManyChimpumStatistics())
+			result.put(row.getCurrency(), row.getStatistics());
+
+		return result;
+	}
+
+	protected static void describe(final long[][] counts, final Map<String, Statistics> budgets, final AdministratorDashboard dashboard) {
+		long withChimpum;
+		long tools;
+
+		withChimpum = 0;
+		for (final long[] count : counts)
+			withChimpum += count[1];
+		tools = counts[ItemType.TOOL.ordinal()][0] + counts[ItemType.TOOL.ordinal()][1];
+
+		dashboard.setChimpumStats(AdministratorDashboardSnapshot.columnsOf(budgets));
+		dashboard.setTotalNumChimpum((int) withChimpum);
+		dashboard.setRatioWithChimpum(tools == 0 ? 0.0 : (double) counts[ItemType.TOOL.ordinal()][1] / tools);
+	}
+
+}
@@ -0,0 +1,213 @@
+package acme.features.administrator.dashboards;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import acme.components.ItemChangedEvent;
+import acme.components.QuantileSketch;
+import acme.entities.ItemType;
+import acme.forms.GroupQuantiles;
+
+/*
+ * Keeps a quantile sketch of the retail prices of the items of every type, technology and currency,
+ * so that the administrator dashboard can show medians, high percentiles and histograms without
+ * sorting the prices. The sketches are built by streaming every price once and are then updated
+ * with the committed item changes; since a sketch cannot forget a value, a group whose price
+ * changes or that loses an item is rebuilt from its own prices the next time it is read. Every group
+ * is stamped with the number of changes applied to it, so a rebuilt sketch is kept unless its group
+ * changed while it was being built, in which case it is served but not kept and the group is
+ * rebuilt again by the next read.
+ */
+@Component
+public class ItemPriceSketchStore {
+
+	// Constants --------------------------------------------------------------
+
+	public static final int							HISTOGRAM_BINS	= 10;
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AdministratorDashboardRepository		repository;
+
+	// Groups by "type, technology, currency", or null until they are built.
+	protected Map<String, Group>					groups;
+
+	// Changes applied since the store was created, which tell whether the groups built from the
+	// database may miss one.
+	protected long									version;
+
+	// Business methods -------------------------------------------------------
+
+
+	@Transactional(readOnly = true)
+	public GroupQuantiles getQuantiles() {
+		Map<String, Group> current;
+		Map<Group, Long> stale;
+		Map<Group, QuantileSketch> rebuilt;
+		long builtVersion;
+
+		synchronized (this) {
+			current = this.groups;
+			stale = new HashMap<>();
+			if (current != null)
+				for (final Group group : current.values())
+					if (group.stale)
+						stale.put(group, group.stamp);
+			builtVersion = this.version;
+		}
+
+		if (current == null) {
+			current = this.build();
+			synchronized (this) {
+				if (this.version == builtVersion)
+					this.groups = current;
+			}
+		}
+
+		rebuilt = new HashMap<>();
+		for (final Map.Entry<Group, Long> entry : stale.entrySet()) {
+			final Group group = entry.getKey();
+			final QuantileSketch sketch = this.build(group);
+
+			rebuilt.put(group, sketch);
+			synchronized (this) {
+				if (group.stamp == entry.getValue()) {
+					group.sketch = sketch;
+					group.stale = false;
+					if (sketch.getCount() == 0)
+						this.groups.remove(ItemPriceSketchStore.key(group.type, group.technology, group.currency), group);
+				}
+			}
+		}
+
+		synchronized (this) {
+			return ItemPriceSketchStore.quantilesOf(current, rebuilt);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onItemChanged(final ItemChangedEvent event) {
+		assert event != null;
+
+		ItemChangedEvent.State previous;
+		ItemChangedEvent.State current;
+		Group group;
+
+		previous = event.getPrevious();
+		current = event.getCurrent();
+		if (previous != null && current != null && ItemPriceSketchStore.keyOf(previous).equals(ItemPriceSketchStore.keyOf(current)) && previous.getAmount() == current.getAmount())
+			return;
+
+		this.version++;
+		if (this.groups != null) {
+			if (previous != null) {
+				group = this.groups.get(ItemPriceSketchStore.keyOf(previous));
+				if (group != null) {
+					group.stale = true;
+					group.stamp++;
+				}
+			}
+			if (current != null) {
+				group = this.groups.computeIfAbsent(ItemPriceSketchStore.keyOf(current), k -> new Group(current.getType(), current.getTechnology(), current.getCurrency()));
+				group.sketch.add(current.getAmount());
+				group.stamp++;
+			}
+		}
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected Map<String, Group> build() {
+		Map<String, Group> result;
+
+		result = new TreeMap<>();
+		try (Stream<Object[]> rows = this.repository.findManyItemPrices()) {
+			rows.forEach(row -> {
+				final ItemType type = (ItemType) row[0];
+				final String technology = (String) row[1];
+				final String currency = (String) row[2];
+
+				result.computeIfAbsent(ItemPriceSketchStore.key(type, technology, currency), k -> new Group(type, technology, currency)).sketch.add(((Number) row[3]).doubleValue());
+			});
+		}
+
+		return result;
+	}
+
+	protected QuantileSketch build(final Group group) {
+		QuantileSketch result;
+
+		result = new QuantileSketch();
+		try (Stream<Double> amounts = this.repository.findManyItemPricesByGroup(group.type, group.technology, group.currency)) {
+			amounts.forEach(result::add);
+		}
+
+		return result;
+	}
+
+	// Takes the sketch of every group from the given rebuilt ones, if there, so that a stale sketch
+	// is never served.
+	protected static GroupQuantiles quantilesOf(final Map<String, Group> groups, final Map<Group, QuantileSketch> rebuilt) {
+		GroupQuantiles result;
+		int size;
+		int index;
+
+		size = 0;
+		for (final Group group : groups.values())
+			if (rebuilt.getOrDefault(group, group.sketch).getCount() != 0)
+				size++;
+
+		result = new GroupQuantiles(size);
+		index = 0;
+		for (final Map.Entry<String, Group> entry : groups.entrySet()) {
+			final QuantileSketch sketch = rebuilt.getOrDefault(entry.getValue(), entry.getValue().sketch);
+
+			if (sketch.getCount() == 0)
+				continue;
+
+			result.set(index, entry.getKey(), sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99), //
+				sketch.getMin(), (sketch.getMax() - sketch.getMin()) / ItemPriceSketchStore.HISTOGRAM_BINS, sketch.histogram(ItemPriceSketchStore.HISTOGRAM_BINS));
+			index++;
+		}
+
+		return result;
+	}
+
+	protected static String keyOf(final ItemChangedEvent.State item) {
+		return ItemPriceSketchStore.key(item.getType(), item.getTechnology(), item.getCurrency());
+	}
+
+	protected static String key(final ItemType type, final String technology, final String currency) {
+		return type + ", " + technology + ", " + currency;
+	}
+
+	// Inner classes ----------------------------------------------------------
+
+	protected static class Group {
+
+		protected final ItemType	type;
+		protected final String		technology;
+		protected final String		currency;
+		protected QuantileSketch	sketch;
+		protected boolean			stale;
+		protected long				stamp;
+
+
+		protected Group(final ItemType type, final String technology, final String currency) {
+			this.type = type;
+			this.technology = technology;
+			this.currency = currency;
+			this.sketch = new QuantileSketch();
+		}
+
+	}
+
+}
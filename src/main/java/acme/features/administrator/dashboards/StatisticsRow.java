@@ -0,0 +1,55 @@
+package acme.features.administrator.dashboards;
+
+import acme.components.Statistics;
+import acme.entities.ItemType;
+import acme.entities.PatronageStatus;
+import lombok.Getter;
+
+/*
+ * A typed row of the grouped statistics queries of the AdministratorDashboardRepository, built by
+ * the persistence provider through a constructor expression. The moments arrive as primitives and
+ * are turned into Statistics once, so that no Object[] has to be unpacked and no number boxed per
+ * column. The attributes that are not grouped on by a query are null.
+ */
+@Getter
+public class StatisticsRow {
+
+	// Attributes -------------------------------------------------------------
+
+	protected final ItemType		type;
+	protected final String			technology;
+	protected final PatronageStatus	status;
+	protected final String			currency;
+	protected final Statistics		statistics;
+
+	// Constructors -----------------------------------------------------------
+
+
+	// Items by type, technology and currency.
+	public StatisticsRow(final ItemType type, final String technology, final String currency, final long count, final double sum, final double sumOfSquares, final double min, final double max) {
+		this.type = type;
+		this.technology = technology;
+		this.status = null;
+		this.currency = currency;
+		this.statistics = Statistics.of(count, sum, sumOfSquares, min, max);
+	}
+
+	// Patronages by status and currency.
+	public StatisticsRow(final PatronageStatus status, final String currency, final long count, final double sum, final double sumOfSquares, final double min, final double max) {
+		this.type = null;
+		this.technology = null;
+		this.status = status;
+		this.currency = currency;
+		this.statistics = Statistics.of(count, sum, sumOfSquares, min, max);
+	}
+
+	// Chimpums by currency.
+	public StatisticsRow(final String currency, final long count, final double sum, final double sumOfSquares, final double min, final double max) {
+		this.type = null;
+		this.technology = null;
+		this.status = null;
+		this.currency = currency;
+		this.statistics = Statistics.of(count, sum, sumOfSquares, min, max);
+	}
+
+}
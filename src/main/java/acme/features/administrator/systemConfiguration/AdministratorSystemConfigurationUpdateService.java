@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.SystemConfigurationCache;
 import acme.entities.SystemConfiguration;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
@@ -24,6 +25,9 @@ public class AdministratorSystemConfigurationUpdateService implements AbstractUp
 	@Autowired
 	protected AdministratorSystemConfigurationRepository repository;
 
+	@Autowired
+	protected SystemConfigurationCache configuration;
+
 	// AbstractUpdateService<Administrator, SystemConfiguration> interface ---------------
 
 
@@ -92,6 +96,7 @@ public class AdministratorSystemConfigurationUpdateService implements AbstractUp
 
 		if (request.isMethod(HttpMethod.POST)) {
 			PrincipalHelper.handleUpdate();
+			this.configuration.refresh();
 		}
 	}
 
@@ -1,7 +1,9 @@
 package acme.features.any.chirp;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -11,10 +13,16 @@ import acme.framework.repositories.AbstractRepository;
 @Repository
 public interface AnyChirpRepository extends AbstractRepository{
 
-	@Query("SELECT c FROM Chirp c WHERE c.id = ?1")
+	@Query("SELECT c FROM Chirp c WHERE c.id = ?1 AND c.status = acme.entities.ChirpStatus.PUBLISHED")
  	Chirp findOneChirpById(int id);
 
- 	@Query("SELECT c FROM Chirp c")
+ 	@Query("SELECT c FROM Chirp c WHERE c.status = acme.entities.ChirpStatus.PUBLISHED")
  	List<Chirp> findManyChirps();
+
+ 	@Query("SELECT c FROM Chirp c WHERE c.id IN :ids AND c.status = acme.entities.ChirpStatus.PENDING")
+ 	List<Chirp> findManyPendingChirpsByIds(Collection<Integer> ids);
+
+ 	@Query("SELECT c.id FROM Chirp c WHERE c.status = acme.entities.ChirpStatus.PENDING ORDER BY c.id")
+ 	List<Integer> findManyPendingChirpIds(Pageable page);
  	
 }
@@ -0,0 +1,257 @@
+package acme.features.any.chirp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import acme.components.SpamFilter;
+import acme.entities.Chirp;
+import acme.entities.ChirpStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Scores the chirps posted by anonymous users against the spam lists, so that posting one does not
+ * wait for it when moderation is asynchronous. Such chirps are saved as pending, which keeps them
+ * out of the listings, and their identifiers are queued when the posting commits; a bounded pool
+ * of workers takes them from the queue in batches, scores them and either publishes or
+ * quarantines them. When the queue is full, the posting request scores its chirp itself, so that
+ * a burst slows down the posters instead of piling up. Chirps that could not be queued, or that
+ * were pending when the application stopped, are queued again by a sweep whenever the queue is
+ * empty. A chirp is tracked from the moment it is queued until the transaction of its batch
+ * completes, and is never queued again meanwhile, so no two workers score it at once. The depth of
+ * the queue and the outcomes are published as metrics.
+ */
+@Component
+public class ChirpModerator {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected AnyChirpRepository			repository;
+
+	@Autowired
+	protected SpamFilter					spamFilter;
+
+	@Autowired
+	protected PlatformTransactionManager	transactionManager;
+
+	@Autowired
+	protected MeterRegistry					meters;
+
+	@Value("${acme.chirps.moderation.asynchronous:false}")
+	protected boolean						asynchronous;
+
+	@Value("${acme.chirps.moderation.threads:2}")
+	protected int							threads;
+
+	@Value("${acme.chirps.moderation.queue:1000}")
+	protected int							capacity;
+
+	@Value("${acme.chirps.moderation.batch:50}")
+	protected int							batch;
+
+	@Value("${acme.chirps.moderation.sweep-period:60}")
+	protected long							sweepPeriod;
+
+	protected BlockingQueue<Integer>		queue;
+
+	// The chirps that are queued or in a batch that has not completed yet.
+	protected final Set<Integer>			tracked	= ConcurrentHashMap.newKeySet();
+
+	protected TransactionTemplate			transactions;
+
+	protected ExecutorService				workers;
+
+	protected ScheduledExecutorService		sweeper;
+
+	protected Timer							batches;
+
+	protected Counter						published;
+
+	protected Counter						quarantined;
+
+	protected Counter						inline;
+
+	protected Counter						rejected;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onStartup() {
+		final AtomicInteger counter;
+
+		this.queue = new ArrayBlockingQueue<>(this.capacity);
+		this.transactions = new TransactionTemplate(this.transactionManager);
+
+		this.meters.gauge("acme.chirps.moderation.queue-depth", this.queue, BlockingQueue::size);
+		this.batches = this.meters.timer("acme.chirps.moderation.batches");
+		this.published = this.meters.counter("acme.chirps.moderation.published");
+		this.quarantined = this.meters.counter("acme.chirps.moderation.quarantined");
+		this.inline = this.meters.counter("acme.chirps.moderation.inline");
+		this.rejected = this.meters.counter("acme.chirps.moderation.rejected");
+
+		if (this.asynchronous) {
+			counter = new AtomicInteger();
+			this.workers = Executors.newFixedThreadPool(this.threads, runnable -> {
+				final Thread result;
+
+				result = new Thread(runnable, "chirp-moderator-" + counter.incrementAndGet());
+				result.setDaemon(true);
+
+				return result;
+			});
+			for (int i = 0; i < this.threads; i++)
+				this.workers.execute(this::work);
+
+			this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final Thread result;
+
+				result = new Thread(runnable, "chirp-moderator-sweeper");
+				result.setDaemon(true);
+
+				return result;
+			});
+			this.sweeper.scheduleWithFixedDelay(this::sweep, 0, this.sweepPeriod, TimeUnit.SECONDS);
+		}
+	}
+
+	@PreDestroy
+	protected void destroy() {
+		if (this.sweeper != null)
+			this.sweeper.shutdownNow();
+		if (this.workers != null)
+			this.workers.shutdownNow();
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public boolean isAsynchronous() {
+		return this.asynchronous && this.queue != null;
+	}
+
+	// Sets the status of a chirp that is about to be saved: pending, to be scored once the current
+	// transaction commits, or published or quarantined right away if the queue is full.
+	public void moderate(final Chirp chirp) {
+		assert chirp != null;
+		assert this.isAsynchronous();
+
+		if (this.queue.remainingCapacity() == 0) {
+			this.inline.increment();
+			this.score(chirp);
+		} else
+			chirp.setStatus(ChirpStatus.PENDING);
+	}
+
+	// Queues a saved chirp if it is pending, once the current transaction commits.
+	public void onSaved(final Chirp chirp) {
+		assert chirp != null;
+
+		if (chirp.getStatus() != ChirpStatus.PENDING)
+			return;
+
+		// The identifier may not be assigned until the chirp is flushed.
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					ChirpModerator.this.enqueue(chirp.getId());
+				}
+			});
+		else
+			this.enqueue(chirp.getId());
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void enqueue(final int id) {
+		if (!this.offer(id))
+			// The sweep queues it again later.
+			this.rejected.increment();
+	}
+
+	// Queues the chirp unless it is already tracked; returns false if the queue is full.
+	protected boolean offer(final int id) {
+		boolean result;
+
+		result = true;
+		if (this.tracked.add(id) && !this.queue.offer(id)) {
+			this.tracked.remove(id);
+			result = false;
+		}
+
+		return result;
+	}
+
+	protected void score(final Chirp chirp) {
+		boolean clean;
+
+		clean = this.spamFilter.validateNoSpam(chirp.getTitle()) //
+			&& this.spamFilter.validateNoSpam(chirp.getAuthor()) //
+			&& this.spamFilter.validateNoSpam(chirp.getBody()) //
+			&& this.spamFilter.validateNoSpam(chirp.getEmail());
+
+		chirp.setStatus(clean ? ChirpStatus.PUBLISHED : ChirpStatus.QUARANTINED);
+		(clean ? this.published : this.quarantined).increment();
+	}
+
+	protected void work() {
+		final List<Integer> ids;
+
+		ids = new ArrayList<>(this.batch);
+		while (!Thread.currentThread().isInterrupted())
+			try {
+				ids.add(this.queue.take());
+				this.queue.drainTo(ids, this.batch - 1);
+				this.batches.record(() -> this.transactions.executeWithoutResult(status -> {
+					for (final Chirp chirp : this.repository.findManyPendingChirpsByIds(ids)) {
+						this.score(chirp);
+						this.repository.save(chirp);
+					}
+				}));
+			} catch (final InterruptedException oops) {
+				Thread.currentThread().interrupt();
+			} catch (final RuntimeException oops) {
+				// The chirps of a failed batch are still pending, so the sweep queues them again.
+			} finally {
+				this.tracked.removeAll(ids);
+				ids.clear();
+			}
+	}
+
+	protected void sweep() {
+		try {
+			if (this.queue.isEmpty())
+				for (final Integer id : this.repository.findManyPendingChirpIds(PageRequest.of(0, this.capacity)))
+					if (!this.offer(id))
+						break;
+		} catch (final RuntimeException oops) {
+			// A failed sweep must not cancel the next ones.
+		}
+	}
+
+}
@@ -1,19 +1,12 @@
 
 package acme.features.any.item;
 
-import java.util.Calendar;
-import java.util.Optional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import acme.components.CalculateMoneyExchange;
 import acme.entities.Item;
-import acme.entities.MoneyExchangeCache;
-import acme.forms.MoneyExchange;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Request;
-import acme.framework.datatypes.Money;
 import acme.framework.roles.Any;
 import acme.framework.services.AbstractShowService;
 
@@ -54,71 +47,10 @@ public class AnyItemShowService implements AbstractShowService<Any, Item> {
 
 		Item result;
 		int id;
-		final Money converted;
-		Money source;
-		String targetCurrency;
-		final MoneyExchange exchange;
-		Calendar today;
-		final Calendar exchangeDate = Calendar.getInstance();
 
 		id = request.getModel().getInteger("id");
 		result = this.repository.findOneItemById(id);
 
-		source = result.getRetailPrice();
-		targetCurrency = "EUR";
-		today = Calendar.getInstance();
-		exchangeDate.setTime(result.getExchangeDate());
-
-		if (!(result.getRetailPrice().getCurrency().equals(targetCurrency))) {
-			exchange = this.getConversion(source, targetCurrency);
-			converted = exchange.getTarget();
-			result.setExchangeDate(exchange.getDate());
-			
-		} else {
-			converted = source;
-			result.setExchangeDate(today.getTime());
-		}
-		result.setConvertedPrice(converted);
-		this.repository.save(result);
 		return result;
-
-	}
-
-	public MoneyExchange getConversion(final Money source, final String targetCurrency) {
-		MoneyExchangeCache cache;
-		MoneyExchange exchange;
-		final Calendar date;
-
-		date = Calendar.getInstance();
-
-		final Optional<MoneyExchangeCache> opt = this.repository.findCacheBySourceAndTarget(source.getCurrency(), targetCurrency);
-		if (opt.isPresent()) {
-			cache = opt.get();
-			if (Boolean.TRUE.equals(CalculateMoneyExchange.checkCache(cache)))
-				exchange = CalculateMoneyExchange.calculateMoneyExchangeFromCache(source, targetCurrency, cache);
-			else {
-				exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-				date.setTime(exchange.getDate());
-				cache.setDate(date);
-				cache.setRate(exchange.getRate());
-
-				this.repository.save(cache);
-			}
-			return exchange;
-		} else {
-			exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-			date.setTime(exchange.getDate());
-			cache = new MoneyExchangeCache();
-			cache.setDate(date);
-			cache.setRate(exchange.getRate());
-			cache.setSource(source.getCurrency());
-			cache.setTarget(targetCurrency);
-
-			this.repository.save(cache);
-
-			return exchange;
-		}
 	}
 }
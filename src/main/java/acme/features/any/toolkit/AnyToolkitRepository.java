@@ -13,13 +13,11 @@
 package acme.features.any.toolkit;
 
 import java.util.Collection;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import acme.entities.ItemQuantity;
-import acme.entities.MoneyExchangeCache;
 import acme.entities.Toolkit;
 import acme.framework.repositories.AbstractRepository;
 
@@ -38,10 +36,5 @@ public interface AnyToolkitRepository extends AbstractRepository {
 	@Query("select iq from ItemQuantity iq where iq.toolkit.id = :masterId")
     Collection<ItemQuantity> findToolkitByItemName(int masterId);
 	
-	@Query("select c from MoneyExchangeCache c where c.source = :sourceCurrency and c.target=:targetCurrency")
-	Optional<MoneyExchangeCache> findCacheBySourceAndTarget(String sourceCurrency, String targetCurrency);
 	
-	@Query("select s.systemCurrency from SystemConfiguration s")
-	String findBaseCurrency();
-
 }
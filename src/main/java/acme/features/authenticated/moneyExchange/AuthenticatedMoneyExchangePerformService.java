@@ -12,17 +12,12 @@
 
 package acme.features.authenticated.moneyExchange;
 
-import java.util.Arrays;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import acme.components.CalculateMoneyExchange;
-import acme.entities.MoneyExchangeCache;
+import acme.components.ExchangeRateCache;
+import acme.components.SystemConfigurationCache;
 import acme.forms.MoneyExchange;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
@@ -37,6 +32,12 @@ public class AuthenticatedMoneyExchangePerformService implements AbstractPerform
 	@Autowired
 	protected AuthenticatedMoneyExchangeRepository repository;
 
+	@Autowired
+	protected ExchangeRateCache exchangeRates;
+
+	@Autowired
+	protected SystemConfigurationCache configuration;
+
 	// AbstractPerformService<Authenticated, ExchangeRecord> interface ---------
 
 
@@ -89,10 +90,7 @@ public class AuthenticatedMoneyExchangePerformService implements AbstractPerform
 
 	public boolean validateAvailableCurrencyRetailPrice(final String targetCurrency) {
 
-		final String currencies = this.repository.findAvailableCurrencies();
-		final List<Object> listOfAvailableCurrencies = Arrays.asList((Object[]) currencies.split(";"));
-
-		return listOfAvailableCurrencies.contains(targetCurrency);
+		return this.configuration.get().isAccepted(targetCurrency);
 	}
 
 	@Override
@@ -100,65 +98,21 @@ public class AuthenticatedMoneyExchangePerformService implements AbstractPerform
 		assert request != null;
 		assert entity != null;
 
-		Money source, target;
-		String targetCurrency, sourceCurrency;
-		Date date;
-		Calendar calendar;
+		Money source;
+		String targetCurrency;
 		MoneyExchange exchange;
-		MoneyExchangeCache cache;
 
 		source = request.getModel().getAttribute("source", Money.class);
 		targetCurrency = request.getModel().getAttribute("targetCurrency", String.class);
-		sourceCurrency = source.getCurrency();
-		calendar = Calendar.getInstance();
-
-		final Optional<MoneyExchangeCache> opt = this.repository.findCacheBySourceAndTarget(sourceCurrency, targetCurrency);
-		if (opt.isPresent()) {
-			cache = opt.get();
-			if (Boolean.TRUE.equals(CalculateMoneyExchange.checkCache(cache))) {
-				exchange = CalculateMoneyExchange.calculateMoneyExchangeFromCache(source, targetCurrency, cache);
-				target = exchange.getTarget();
-				entity.setTarget(target);
-				date = exchange.getDate();
-				entity.setDate(date);
-			} else {
-				exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-				errors.state(request, exchange != null, "*", "authenticated.money-exchange.form.label.api-error");
-				if (exchange == null) {
-					entity.setTarget(null);
-					entity.setDate(null);
-				} else {
-					target = exchange.getTarget();
-					entity.setTarget(target);
-					date = exchange.getDate();
-					entity.setDate(date);
 
-					calendar.setTime(date);
-					cache.setDate(calendar);
-					cache.setRate(exchange.getRate());
-					this.repository.save(cache);
-				}
-			}
+		exchange = this.exchangeRates.getConversion(source, targetCurrency);
+		errors.state(request, exchange != null, "*", "authenticated.money-exchange.form.label.api-error");
+		if (exchange == null) {
+			entity.setTarget(null);
+			entity.setDate(null);
 		} else {
-			exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-			errors.state(request, exchange != null, "*", "authenticated.money-exchange.form.label.api-error");
-			if (exchange == null) {
-				entity.setTarget(null);
-				entity.setDate(null);
-			} else {
-				target = exchange.getTarget();
-				entity.setTarget(target);
-				date = exchange.getDate();
-				entity.setDate(date);
-
-				calendar.setTime(date);
-				cache = new MoneyExchangeCache();
-				cache.setDate(calendar);
-				cache.setRate(exchange.getRate());
-				cache.setSource(sourceCurrency);
-				cache.setTarget(targetCurrency);
-				this.repository.save(cache);
-			}
+			entity.setTarget(exchange.getTarget());
+			entity.setDate(exchange.getDate());
 		}
 	}
 
@@ -1,22 +1,18 @@
 package acme.features.inventor.chimpum;
 
-import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
+import acme.components.SpamFilter;
+import acme.components.SystemConfigurationCache;
 import acme.entities.Chimpum;
 import acme.entities.Item;
 import acme.entities.ItemType;
-import acme.entities.SystemConfiguration;
-import acme.features.administrator.systemConfiguration.AdministratorSystemConfigurationRepository;
-import acme.features.spam.SpamDetector;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
 import acme.framework.controllers.Request;
@@ -31,7 +27,13 @@ public class InventorChimpumCreateService implements AbstractCreateService<Inven
 	protected InventorChimpumRepository						repository;
 
 	@Autowired
-	protected AdministratorSystemConfigurationRepository	scRepo;
+	protected EntityChangePublisher							changes;
+
+	@Autowired
+	protected SystemConfigurationCache						configuration;
+
+	@Autowired
+	protected SpamFilter									spamFilter;
 
 
 	@Override
@@ -80,27 +82,11 @@ public class InventorChimpumCreateService implements AbstractCreateService<Inven
 
 		moment.setTime(now);
 
-		final SystemConfiguration sc = this.scRepo.findSystemConfigurationById();
-		final String[] parts = sc.getStrongSpam().split(";");
-		final String[] parts2 = sc.getWeakSpam().split(";");
-		final List<String> strongSpam = new LinkedList<>();
-		final List<String> weakSpam = new LinkedList<>();
-		Collections.addAll(strongSpam, parts);
-		Collections.addAll(weakSpam, parts2);
-
 		finalCode = this.generateCode(entity.getCode(), moment);
 		entity.setCode(finalCode);
 		entity.setCreationMoment(moment.getTime());
 
-		if (entity.getDescription() != null && !entity.getDescription().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getDescription(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getDescription(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "description", "inventor.chimpum.form.label.spam", "spam");
-		}
-
-		if (entity.getTitle() != null && !entity.getTitle().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getTitle(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getTitle(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "name", "inventor.chimpum.form.label.spam", "spam");
-		}
+		this.spamFilter.validate(request, entity, errors, "inventor.chimpum.form.label.spam", "description", "title");
 
 		//		if (!errors.hasErrors("code")) {
 		//			final Chimpum existing = this.repository.findOneChimpumByCode(entity.getCode());
@@ -158,8 +144,10 @@ public class InventorChimpumCreateService implements AbstractCreateService<Inven
 		masterId = request.getModel().getInteger("masterId");
 		item = this.repository.findOneItemById(masterId);
 
+		this.changes.onChimpumSaved(entity);
 		this.repository.save(entity);
 		item.setChimpum(entity);
+		this.changes.onItemSaved(item);
 		this.repository.save(item);
 	}
 
@@ -167,10 +155,7 @@ public class InventorChimpumCreateService implements AbstractCreateService<Inven
 
 	private boolean validateAvailableCurrency(final Money budget) {
 
-		final String currencies = this.scRepo.findAvailableCurrencies();
-		final List<Object> listOfAvailableCurrencies = Arrays.asList((Object[]) currencies.split(";"));
-
-		return listOfAvailableCurrencies.contains(budget.getCurrency());
+		return this.configuration.get().isAccepted(budget.getCurrency());
 	}
 
 	private String generateCode(final String code, final Calendar moment) {
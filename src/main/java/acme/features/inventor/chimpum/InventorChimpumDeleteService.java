@@ -3,6 +3,7 @@ package acme.features.inventor.chimpum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
 import acme.entities.Chimpum;
 import acme.entities.Item;
 import acme.framework.components.models.Model;
@@ -20,6 +21,9 @@ public class InventorChimpumDeleteService implements AbstractDeleteService<Inven
 	@Autowired
 	protected InventorChimpumRepository repository;
 
+	@Autowired
+	protected EntityChangePublisher changes;
+
 	// AbstractDeleteService<Inventor, Item> interface -------------------------
 
 
@@ -49,6 +53,7 @@ public class InventorChimpumDeleteService implements AbstractDeleteService<Inven
 
 		id = request.getModel().getInteger("id");
 		result = this.repository.findOneChimpumById(id);
+		this.changes.onChimpumLoaded(result);
 
 		return result;
 	}
@@ -83,6 +88,16 @@ public class InventorChimpumDeleteService implements AbstractDeleteService<Inven
 		assert request != null;
 		assert entity != null;
 
+		Item item;
+
+		item = this.repository.findOneItemByChimpumId(entity.getId());
+		if (item != null) {
+			item.setChimpum(null);
+			this.changes.onItemSaved(item);
+			this.repository.save(item);
+		}
+
+		this.changes.onChimpumDeleted(entity);
 		this.repository.delete(entity);
 	}
 
@@ -1,24 +1,18 @@
 
 package acme.features.inventor.item;
 
-import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import acme.components.CalculateMoneyExchange;
+import acme.components.EntityChangePublisher;
+import acme.components.ExchangeRateCache;
+import acme.components.SpamFilter;
+import acme.components.SystemConfigurationCache;
 import acme.entities.Item;
 import acme.entities.ItemType;
-import acme.entities.MoneyExchangeCache;
-import acme.entities.SystemConfiguration;
-import acme.features.administrator.systemConfiguration.AdministratorSystemConfigurationRepository;
-import acme.features.spam.SpamDetector;
 import acme.forms.MoneyExchange;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
@@ -34,7 +28,16 @@ public class InventorItemCreateService implements AbstractCreateService<Inventor
 	protected InventorItemRepository						repository;
 
 	@Autowired
-	protected AdministratorSystemConfigurationRepository	scRepo;
+	protected EntityChangePublisher							changes;
+
+	@Autowired
+	protected ExchangeRateCache								exchangeRates;
+
+	@Autowired
+	protected SpamFilter									spamFilter;
+
+	@Autowired
+	protected SystemConfigurationCache						configuration;
 
 
 	@Override
@@ -54,15 +57,13 @@ public class InventorItemCreateService implements AbstractCreateService<Inventor
 		final ItemType type = ItemType.valueOf((String) request.getModel().getAttribute("type"));
 		item.setType(type);
 		item.setInventor(inventor);
+		item.setCreationMoment(new Date(System.currentTimeMillis() - 1));
 		return item;
 	}
 
 	public boolean validateAvailableCurrencyRetailPrice(final Money retailPrice) {
 
-		final String currencies = this.repository.findAvailableCurrencies();
-		final List<Object> listOfAvailableCurrencies = Arrays.asList((Object[]) currencies.split(";"));
-
-		return listOfAvailableCurrencies.contains(retailPrice.getCurrency());
+		return this.configuration.get().isAccepted(retailPrice.getCurrency());
 	}
 
 	@Override
@@ -81,34 +82,7 @@ public class InventorItemCreateService implements AbstractCreateService<Inventor
 		assert entity != null;
 		assert errors != null;
 
-		final SystemConfiguration sc = this.scRepo.findSystemConfigurationById();
-		final String[] parts = sc.getStrongSpam().split(";");
-		final String[] parts2 = sc.getWeakSpam().split(";");
-		final List<String> strongSpam = new LinkedList<>();
-		final List<String> weakSpam = new LinkedList<>();
-		Collections.addAll(strongSpam, parts);
-		Collections.addAll(weakSpam, parts2);
-
-		if (entity.getDescription() != null && !entity.getDescription().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getDescription(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getDescription(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "description", "inventor.item.form.label.spam", "spam");
-		}
-
-		if (entity.getName() != null && !entity.getName().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getName(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getName(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "name", "inventor.item.form.label.spam", "spam");
-		}
-
-		if (entity.getTechnology() != null && !entity.getTechnology().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getTechnology(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getTechnology(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "technology", "inventor.item.form.label.spam", "spam");
-		}
-		
-		if (!entity.getMoreInfo().equals("") && entity.getMoreInfo() != null) {
-			final boolean spam2 = SpamDetector.validateNoSpam(entity.getMoreInfo(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getMoreInfo(), strongSpam, sc.getStrongThreshold());
-
-			errors.state(request, spam2, "moreInfo", "inventor.item.form.label.spam", "spam");
-		}
+		this.spamFilter.validate(request, entity, errors, "inventor.item.form.label.spam", "description", "name", "technology", "moreInfo");
 
 		if (!errors.hasErrors("code")) {
 
@@ -163,56 +137,21 @@ public class InventorItemCreateService implements AbstractCreateService<Inventor
 		final Calendar today = Calendar.getInstance();
 
 		source = entity.getRetailPrice();
-		targetCurrency = this.repository.findBaseCurrency();
+		targetCurrency = this.configuration.get().getSystemCurrency();
 
+		// The rate is unknown only if no rate has ever been fetched, in which case the price is
+		// converted when the first one arrives.
 		if (!(entity.getRetailPrice().getCurrency().equals(targetCurrency))) {
-			exchange = this.getConversion(source, targetCurrency);
-			converted = exchange.getTarget();
-			date = exchange.getDate();
+			exchange = this.exchangeRates.getConversion(source, targetCurrency, today.getTime());
+			converted = exchange == null ? null : exchange.getTarget();
+			date = exchange == null ? null : exchange.getDate();
 		} else {
 			converted = source;
 			date = today.getTime();
 		}
 		entity.setConvertedPrice(converted);
 		entity.setExchangeDate(date);
+		this.changes.onItemSaved(entity);
 		this.repository.save(entity);
 	}
-
-	public MoneyExchange getConversion(final Money source, final String targetCurrency) {
-		MoneyExchangeCache cache;
-		MoneyExchange exchange;
-		final Calendar date;
-
-		date = Calendar.getInstance();
-
-		final Optional<MoneyExchangeCache> opt = this.repository.findCacheBySourceAndTarget(source.getCurrency(), targetCurrency);
-		if (opt.isPresent()) {
-			cache = opt.get();
-			if (Boolean.TRUE.equals(CalculateMoneyExchange.checkCache(cache)))
-				exchange = CalculateMoneyExchange.calculateMoneyExchangeFromCache(source, targetCurrency, cache);
-			else {
-				exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-				date.setTime(exchange.getDate());
-				cache.setDate(date);
-				cache.setRate(exchange.getRate());
-
-				this.repository.save(cache);
-			}
-			return exchange;
-		} else {
-			exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-			date.setTime(exchange.getDate());
-			cache = new MoneyExchangeCache();
-			cache.setDate(date);
-			cache.setRate(exchange.getRate());
-			cache.setSource(source.getCurrency());
-			cache.setTarget(targetCurrency);
-
-			this.repository.save(cache);
-
-			return exchange;
-		}
-	}
 }
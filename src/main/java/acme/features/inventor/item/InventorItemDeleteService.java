@@ -3,6 +3,7 @@ package acme.features.inventor.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
 import acme.entities.Item;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
@@ -19,6 +20,9 @@ public class InventorItemDeleteService implements AbstractDeleteService<Inventor
 	@Autowired
 	protected InventorItemRepository repository;
 
+	@Autowired
+	protected EntityChangePublisher changes;
+
 	// AbstractDeleteService<Inventor, Item> interface -------------------------
 
 
@@ -48,6 +52,7 @@ public class InventorItemDeleteService implements AbstractDeleteService<Inventor
 
 		id = request.getModel().getInteger("id");
 		result = this.repository.findOneItemById(id);
+		this.changes.onItemLoaded(result);
 
 		return result;
 	}
@@ -82,6 +87,7 @@ public class InventorItemDeleteService implements AbstractDeleteService<Inventor
 		assert request != null;
 		assert entity != null;
 
+		this.changes.onItemDeleted(entity);
 		this.repository.delete(entity);
 	}
 
@@ -3,6 +3,7 @@ package acme.features.inventor.itemQuantity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.ToolkitPriceMaintainer;
 import acme.entities.ItemQuantity;
 import acme.entities.ItemType;
 import acme.entities.Toolkit;
@@ -17,6 +18,9 @@ public class InventorItemQuantityCreateService implements AbstractCreateService<
 
 	@Autowired
 	InventorItemQuantityRepository repository;
+
+	@Autowired
+	protected ToolkitPriceMaintainer toolkitPrices;
 	
 	@Override
 	public boolean authorise(final Request<ItemQuantity> request) {
@@ -93,7 +97,8 @@ public class InventorItemQuantityCreateService implements AbstractCreateService<
 	public void create(final Request<ItemQuantity> request, final ItemQuantity entity) {
 		assert request != null;
 		assert entity != null;
-		
+
+		this.toolkitPrices.onQuantityCreated(entity);
 		this.repository.save(entity);
 	}
 
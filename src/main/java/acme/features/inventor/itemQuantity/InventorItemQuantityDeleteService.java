@@ -3,6 +3,7 @@ package acme.features.inventor.itemQuantity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.ToolkitPriceMaintainer;
 import acme.entities.ItemQuantity;
 import acme.entities.Toolkit;
 import acme.framework.components.models.Model;
@@ -16,6 +17,9 @@ public class InventorItemQuantityDeleteService implements AbstractDeleteService<
 
 	@Autowired
 	InventorItemQuantityRepository repository;
+
+	@Autowired
+	protected ToolkitPriceMaintainer toolkitPrices;
 	
 	
 	@Override
@@ -76,7 +80,8 @@ public class InventorItemQuantityDeleteService implements AbstractDeleteService<
 	public void delete(final Request<ItemQuantity> request, final ItemQuantity entity) {
 		assert request != null;
 		assert entity != null;
-		
+
+		this.toolkitPrices.onQuantityDeleted(entity);
 		this.repository.delete(entity);
 	}
 
@@ -1,20 +1,12 @@
 package acme.features.inventor.itemQuantity;
 
-import java.util.Calendar;
-import java.util.Optional;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import acme.components.CalculateMoneyExchange;
-import acme.entities.Item;
 import acme.entities.ItemQuantity;
-import acme.entities.MoneyExchangeCache;
 import acme.entities.Toolkit;
-import acme.forms.MoneyExchange;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Request;
-import acme.framework.datatypes.Money;
 import acme.framework.entities.Principal;
 import acme.framework.services.AbstractShowService;
 import acme.roles.Inventor;
@@ -52,35 +44,10 @@ public class InventorItemQuantityShowService implements AbstractShowService<Inve
 		assert request != null;
 
 		ItemQuantity result;
-		Item item;
 		int masterId;
-		final Money converted;
-		Money source;
-		String targetCurrency;
-		final MoneyExchange exchange;
-		Calendar today;
-		final Calendar exchangeDate = Calendar.getInstance();
 
 		masterId = request.getModel().getInteger("id");
 		result = this.repository.findItemQuantityById(masterId);
-		
-		item = result.getItem();
-		source = item.getRetailPrice();
-		targetCurrency = this.repository.findBaseCurrency();
-		today = Calendar.getInstance();
-		exchangeDate.setTime(item.getExchangeDate());
-		
-		if (!(item.getRetailPrice().getCurrency().equals(targetCurrency))) {
-			exchange = this.getConversion(source, targetCurrency);
-			converted = exchange.getTarget();
-			item.setExchangeDate(exchange.getDate());
-			
-		} else {
-			converted = source;
-			item.setExchangeDate(today.getTime());
-		}
-		item.setConvertedPrice(converted);
-		this.repository.save(item);
 
 		return result;
 	}
@@ -97,42 +64,5 @@ public class InventorItemQuantityShowService implements AbstractShowService<Inve
 		
 	}
 	
-	public MoneyExchange getConversion(final Money source, final String targetCurrency) {
-		MoneyExchangeCache cache;
-		MoneyExchange exchange;
-		final Calendar date;
-
-		date = Calendar.getInstance();
-
-		final Optional<MoneyExchangeCache> opt = this.repository.findCacheBySourceAndTarget(source.getCurrency(), targetCurrency);
-		if (opt.isPresent()) {
-			cache = opt.get();
-			if (Boolean.TRUE.equals(CalculateMoneyExchange.checkCache(cache)))
-				exchange = CalculateMoneyExchange.calculateMoneyExchangeFromCache(source, targetCurrency, cache);
-			else {
-				exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-				date.setTime(exchange.getDate());
-				cache.setDate(date);
-				cache.setRate(exchange.getRate());
-
-				this.repository.save(cache);
-			}
-			return exchange;
-		} else {
-			exchange = CalculateMoneyExchange.computeMoneyExchange(source, targetCurrency);
-
-			date.setTime(exchange.getDate());
-			cache = new MoneyExchangeCache();
-			cache.setDate(date);
-			cache.setRate(exchange.getRate());
-			cache.setSource(source.getCurrency());
-			cache.setTarget(targetCurrency);
-
-			this.repository.save(cache);
-
-			return exchange;
-		}
-	}
 
 }
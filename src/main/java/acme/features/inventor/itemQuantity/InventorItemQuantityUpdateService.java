@@ -4,6 +4,7 @@ package acme.features.inventor.itemQuantity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.ToolkitPriceMaintainer;
 import acme.entities.ItemQuantity;
 import acme.entities.ItemType;
 import acme.framework.components.models.Model;
@@ -20,6 +21,9 @@ public class InventorItemQuantityUpdateService implements AbstractUpdateService<
 	@Autowired
 	InventorItemQuantityRepository repository;
 
+	@Autowired
+	protected ToolkitPriceMaintainer toolkitPrices;
+
 	// AbstractUpdateService<Inventor,Item> interface -----------------
 
 	@Override
@@ -92,6 +96,7 @@ public class InventorItemQuantityUpdateService implements AbstractUpdateService<
 		assert request != null;
 		assert entity != null;
 
+		this.toolkitPrices.onQuantityUpdated(entity);
 		this.repository.save(entity);
 	}
 
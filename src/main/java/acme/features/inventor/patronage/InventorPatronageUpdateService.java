@@ -4,6 +4,7 @@ package acme.features.inventor.patronage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
 import acme.entities.Patronage;
 import acme.entities.PatronageStatus;
 import acme.framework.components.models.Model;
@@ -20,6 +21,9 @@ public class InventorPatronageUpdateService implements AbstractUpdateService<Inv
 	@Autowired
 	protected InventorPatronageRepository repository;
 
+	@Autowired
+	protected EntityChangePublisher changes;
+
 	// AbstractUpdateService<Inventor, Patronage> interface -----------------
 
 
@@ -68,6 +72,7 @@ public class InventorPatronageUpdateService implements AbstractUpdateService<Inv
 
 		id = request.getModel().getInteger("id");
 		result = this.repository.findOnePatronageById(id);
+		this.changes.onPatronageLoaded(result);
 
 		return result;
 	}
@@ -84,6 +89,7 @@ public class InventorPatronageUpdateService implements AbstractUpdateService<Inv
 		assert request != null;
 		assert entity != null;
 
+		this.changes.onPatronageSaved(entity);
 		this.repository.save(entity);
 	}
 
@@ -1,7 +1,6 @@
 package acme.features.inventor.toolkit;
 
 import java.util.Collection;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,7 +8,6 @@ import org.springframework.stereotype.Repository;
 import acme.entities.Item;
 import acme.entities.ItemQuantity;
 import acme.entities.ItemType;
-import acme.entities.MoneyExchangeCache;
 import acme.entities.Toolkit;
 import acme.framework.repositories.AbstractRepository;
 import acme.roles.Inventor;
@@ -47,11 +45,6 @@ public interface InventorToolkitRepository extends AbstractRepository {
 	
 	@Query("select t from Toolkit t where t.code = :code")
 	Toolkit findOneToolkitByCode(String code);
-
-	@Query("select s.systemCurrency from SystemConfiguration s")
-	String findBaseCurrency();
 	
-	@Query("select c from MoneyExchangeCache c where c.source = :sourceCurrency and c.target=:targetCurrency")
-	Optional<MoneyExchangeCache> findCacheBySourceAndTarget(String sourceCurrency, String targetCurrency);
 
 }
@@ -1,16 +1,11 @@
 package acme.features.inventor.toolkit;
 
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import acme.entities.SystemConfiguration;
+import acme.components.SpamFilter;
 import acme.entities.Toolkit;
-import acme.features.administrator.systemConfiguration.AdministratorSystemConfigurationRepository;
-import acme.features.spam.SpamDetector;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
 import acme.framework.controllers.Request;
@@ -25,7 +20,7 @@ public class InventorToolkitUpdateService implements AbstractUpdateService<Inven
 	protected InventorToolkitRepository repository;
 	
 	@Autowired
-	protected AdministratorSystemConfigurationRepository	scRepo;
+	protected SpamFilter spamFilter;
 
 	@Override
 	public boolean authorise(final Request<Toolkit> request) {
@@ -87,34 +82,7 @@ public class InventorToolkitUpdateService implements AbstractUpdateService<Inven
 		assert entity != null;
 		assert errors != null;
 		
-		final SystemConfiguration sc = this.scRepo.findSystemConfigurationById();
-		final String[] parts = sc.getStrongSpam().split(";");
-		final String[] parts2 = sc.getWeakSpam().split(";");
-		final List<String> strongSpam = new LinkedList<>();
-		final List<String> weakSpam = new LinkedList<>();
-		Collections.addAll(strongSpam, parts);
-		Collections.addAll(weakSpam, parts2);
-
-		if (entity.getDescription() != null && !entity.getDescription().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getDescription(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getDescription(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "description", "inventor.toolkit.form.label.spam", "spam");
-		}
-
-		if (entity.getTitle() != null && !entity.getTitle().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getTitle(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getTitle(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "title", "inventor.toolkit.form.label.spam", "spam");
-		}
-
-		if (entity.getAssemblyNotes() != null && !entity.getAssemblyNotes().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getAssemblyNotes(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getAssemblyNotes(), strongSpam, sc.getStrongThreshold());
-			errors.state(request, spam1, "assemblyNotes", "inventor.toolkit.form.label.spam", "spam");
-		}
-		
-		if (!entity.getMoreInfo().equals("") && entity.getMoreInfo() != null) {
-			final boolean spam2 = SpamDetector.validateNoSpam(entity.getMoreInfo(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getMoreInfo(), strongSpam, sc.getStrongThreshold());
-
-			errors.state(request, spam2, "moreInfo", "inventor.toolkit.form.label.spam", "spam");
-		}
+		this.spamFilter.validate(request, entity, errors, "inventor.toolkit.form.label.spam", "description", "title", "assemblyNotes", "moreInfo");
 		
 		if (!errors.hasErrors("code")) {
 			final Toolkit alreadyExists = this.repository.findOneToolkitByCode(entity.getCode());
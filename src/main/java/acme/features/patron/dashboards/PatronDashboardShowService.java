@@ -1,9 +1,6 @@
 
 package acme.features.patron.dashboards;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,7 +17,7 @@ public class PatronDashboardShowService implements AbstractShowService<Patron, P
 	// Internal state ---------------------------------------------------------
 
 	@Autowired
-	protected PatronDashboardRepository repository;
+	protected PatronDashboardStore store;
 	
 	protected PatronPatronageRepository repositoryP;
 
@@ -36,50 +33,9 @@ public class PatronDashboardShowService implements AbstractShowService<Patron, P
 	@Override
 	public PatronDashboard findOne(final Request<PatronDashboard> request) {
 		assert request != null;
-		final Integer id = request.getPrincipal().getActiveRoleId();
-
-		final PatronDashboard result;
-
-		final int numberOfAcceptedPatronages = this.repository.numberOfAcceptedPatronages(id).intValue();
-		final int numberOfDeniedPatronages = this.repository.numberOfDeniedPatronages(id).intValue();
-		final int numberOfProposedPatronages = this.repository.numberOfProposedPatronages(id).intValue();
-		final Double minPriceOfAcceptedPatronages = this.repository.minBudgetAcceptedPatronages(id);
-		final Double maxPriceOfAcceptedPatronages = this.repository.maxBudgetAcceptedPatronages(id);
-		final Double averagePriceOfAcceptedPatronages = this.repository.averageBudgetAcceptedPatronages(id);
-		final Double deviationPriceOfAcceptedPatronages = this.repository.deviationBudgetAcceptedPatronages(id);
-		final Double minPriceOfDeniedPatronages = this.repository.minBudgetDeniedPatronages(id);
-		final Double maxPriceOfDeniedPatronages = this.repository.maxBudgetDeniedPatronages(id);
-		final Double averagePriceOfDeniedPatronages = this.repository.averageBudgetDeniedPatronages(id);
-		final Double deviationPriceOfDeniedPatronages = this.repository.deviationBudgetDeniedPatronages(id);
-		final Double minPriceOfProposedPatronages = this.repository.minBudgetProposedPatronages(id);
-		final Double maxPriceOfProposedPatronages = this.repository.maxBudgetProposedPatronages(id);
-		final Double averagePriceOfProposedPatronages = this.repository.averageBudgetProposedPatronages(id);
-		final Double deviationPriceOfProposedPatronages = this.repository.deviationBudgetProposedPatronages(id);
-		
-		final Map<String, Integer> numberOfPatronages = new HashMap<>();
-		numberOfPatronages.put("accepted", numberOfAcceptedPatronages);
-		numberOfPatronages.put("denied", numberOfDeniedPatronages);
-		numberOfPatronages.put("proposed", numberOfProposedPatronages);
-		
-		final Map<String, Double> patronageStats = new HashMap<>();
-		patronageStats.put("maxAccepted", maxPriceOfAcceptedPatronages);
-		patronageStats.put("minAccepted", minPriceOfAcceptedPatronages);
-		patronageStats.put("averageAccepted", averagePriceOfAcceptedPatronages);
-		patronageStats.put("deviationAccepted", deviationPriceOfAcceptedPatronages);
-		patronageStats.put("maxDenied", maxPriceOfDeniedPatronages);
-		patronageStats.put("minDenied", minPriceOfDeniedPatronages);
-		patronageStats.put("averageDenied", averagePriceOfDeniedPatronages);
-		patronageStats.put("deviationDenied", deviationPriceOfDeniedPatronages);
-		patronageStats.put("maxProposed", maxPriceOfProposedPatronages);
-		patronageStats.put("minProposed", minPriceOfProposedPatronages);
-		patronageStats.put("averageProposed", averagePriceOfProposedPatronages);
-		patronageStats.put("deviationProposed", deviationPriceOfProposedPatronages);
-
-		result = new PatronDashboard();
-		result.setNumberOfPatronages(numberOfPatronages);
-		result.setPatronagesStats(patronageStats);
+		final int id = request.getPrincipal().getActiveRoleId();
 
-		return result;
+		return this.store.getDashboard(id);
 	}
 
 	@Override
@@ -0,0 +1,168 @@
+package acme.features.patron.dashboards;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import acme.components.PatronageChangedEvent;
+import acme.components.Statistics;
+import acme.entities.PatronageStatus;
+import acme.forms.PatronDashboard;
+
+/*
+ * Keeps the budget statistics of the patronages of every patron, by status, so that a patron
+ * dashboard is a keyed lookup. The statistics of a patron are loaded with one grouped query the
+ * first time they are requested and are then updated with every committed patronage change; a
+ * change that makes them inexact, such as removing their minimum, evicts them and the next read
+ * loads them again. Statistics loaded while a change was being applied are served but not kept.
+ * At most max-entries patrons are kept; the least recently read ones are dropped first.
+ */
+@Component
+public class PatronDashboardStore {
+
+	// Internal state ---------------------------------------------------------
+
+	@Autowired
+	protected PatronDashboardRepository								repository;
+
+	@Value("${acme.dashboards.patrons.max-entries:10000}")
+	protected int													maxEntries;
+
+	protected Map<Integer, Map<PatronageStatus, Statistics>>		entries;
+
+	protected long													version;
+
+	// Life cycle -------------------------------------------------------------
+
+
+	@PostConstruct
+	protected void initialise() {
+		assert this.maxEntries > 0;
+
+		this.entries = new LinkedHashMap<Integer, Map<PatronageStatus, Statistics>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer, Map<PatronageStatus, Statistics>> eldest) {
+				return this.size() > PatronDashboardStore.this.maxEntries;
+			}
+		};
+	}
+
+	// Business methods -------------------------------------------------------
+
+
+	public PatronDashboard getDashboard(final int patronId) {
+		Map<PatronageStatus, Statistics> entry;
+		long loadedVersion;
+
+		synchronized (this) {
+			entry = this.entries.get(patronId);
+			if (entry != null)
+				return PatronDashboardStore.toDashboard(entry);
+			loadedVersion = this.version;
+		}
+
+		entry = this.load(patronId);
+
+		synchronized (this) {
+			if (this.version == loadedVersion)
+				this.entries.put(patronId, entry);
+			return PatronDashboardStore.toDashboard(entry);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onPatronageChanged(final PatronageChangedEvent event) {
+		assert event != null;
+
+		PatronageChangedEvent.State previous;
+		PatronageChangedEvent.State current;
+		Map<PatronageStatus, Statistics> entry;
+
+		this.version++;
+		previous = event.getPrevious();
+		current = event.getCurrent();
+
+		if (previous != null) {
+			entry = this.entries.get(previous.getPatronId());
+			if (entry != null && !PatronDashboardStore.remove(entry, previous))
+				this.entries.remove(previous.getPatronId());
+		}
+
+		if (current != null) {
+			entry = this.entries.get(current.getPatronId());
+			if (entry != null)
+				entry.computeIfAbsent(current.getStatus(), s -> new Statistics()).add(current.getAmount());
+		}
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected Map<PatronageStatus, Statistics> load(final int patronId) {
+		Map<PatronageStatus, Statistics> result;
+
+		result = new EnumMap<>(PatronageStatus.class);
+		for (final Object[] row : this.repository.findManyPatronageStatisticsByPatronId(patronId))
+			result.put((PatronageStatus) row[0], Statistics.of( //
+				((Number) row[1]).longValue(), //
+				((Number) row[2]).doubleValue(), //
+				((Number) row[3]).doubleValue(), //
+				((Number) row[4]).doubleValue(), //
+				((Number) row[5]).doubleValue()));
+
+		return result;
+	}
+
+	protected static boolean remove(final Map<PatronageStatus, Statistics> entry, final PatronageChangedEvent.State patronage) {
+		Statistics statistics;
+		boolean result;
+
+		statistics = entry.get(patronage.getStatus());
+		if (statistics == null)
+			result = false;
+		else {
+			result = statistics.remove(patronage.getAmount());
+			if (statistics.getCount() == 0)
+				entry.remove(patronage.getStatus());
+		}
+
+		return result;
+	}
+
+	protected static PatronDashboard toDashboard(final Map<PatronageStatus, Statistics> entry) {
+		PatronDashboard result;
+		Map<String, Integer> numberOfPatronages;
+		Map<String, Double> patronageStats;
+
+		numberOfPatronages = new HashMap<>();
+		patronageStats = new HashMap<>();
+		for (final PatronageStatus status : PatronageStatus.values()) {
+			final Statistics statistics = entry.getOrDefault(status, new Statistics());
+			final String name = status.name().charAt(0) + status.name().substring(1).toLowerCase();
+
+			numberOfPatronages.put(name.toLowerCase(), (int) statistics.getCount());
+			patronageStats.put("max" + name, statistics.getMax());
+			patronageStats.put("min" + name, statistics.getMin());
+			patronageStats.put("average" + name, statistics.getAverage());
+			patronageStats.put("deviation" + name, statistics.getDeviation());
+		}
+
+		result = new PatronDashboard();
+		result.setNumberOfPatronages(numberOfPatronages);
+		result.setPatronagesStats(patronageStats);
+
+		return result;
+	}
+
+}
@@ -1,20 +1,16 @@
 package acme.features.patron.patronage;
 
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
+import acme.components.SpamFilter;
 import acme.entities.Patronage;
 import acme.entities.PatronageStatus;
-import acme.entities.SystemConfiguration;
-import acme.features.administrator.systemConfiguration.AdministratorSystemConfigurationRepository;
-import acme.features.spam.SpamDetector;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
 import acme.framework.controllers.Request;
@@ -29,9 +25,12 @@ public class PatronPatronageCreateService implements AbstractCreateService<Patro
 
 	@Autowired
 	protected PatronPatronageRepository repository;
+
+	@Autowired
+	protected EntityChangePublisher changes;
 	
 	@Autowired
-	protected AdministratorSystemConfigurationRepository	scRepo;
+	protected SpamFilter spamFilter;
 
 	// AbstractCreateService<Patron, Patronage> interface -------------------------
 			
@@ -123,25 +122,7 @@ public class PatronPatronageCreateService implements AbstractCreateService<Patro
 		assert entity != null;
 		assert errors != null;
 		
-		final SystemConfiguration sc = this.scRepo.findSystemConfigurationById();
-		final String[] parts = sc.getStrongSpam().split(";");
-		final String[] parts2 = sc.getWeakSpam().split(";");
-		final List<String> strongSpam = new LinkedList<>();
-		final List<String> weakSpam = new LinkedList<>();
-		Collections.addAll(strongSpam, parts);
-		Collections.addAll(weakSpam, parts2);
-
-		if (entity.getLegalStuff() != null && !entity.getLegalStuff().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getLegalStuff(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getLegalStuff(), strongSpam, sc.getStrongThreshold());
-
-			errors.state(request, spam1, "legalStuff", "patron.patronage.form.label.spam", "spam");
-		}
-		
-		if (!entity.getMoreInfo().equals("") && entity.getMoreInfo() != null) {
-			final boolean spam2 = SpamDetector.validateNoSpam(entity.getMoreInfo(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getMoreInfo(), strongSpam, sc.getStrongThreshold());
-
-			errors.state(request, spam2, "moreInfo", "patron.patronage.form.label.spam", "spam");
-		}
+		this.spamFilter.validate(request, entity, errors, "patron.patronage.form.label.spam", "legalStuff", "moreInfo");
 
 		if (!errors.hasErrors("code")) {
 			Patronage existing;
@@ -191,6 +172,7 @@ public class PatronPatronageCreateService implements AbstractCreateService<Patro
 		entity.setCreationMoment(currentMoment);
 		entity.setPublished(false);
 		
+		this.changes.onPatronageSaved(entity);
 		this.repository.save(entity);
 		
 	}
@@ -5,6 +5,7 @@ import java.util.Collection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
 import acme.entities.Patronage;
 import acme.entities.PatronageReport;
 import acme.framework.components.models.Model;
@@ -21,6 +22,9 @@ public class PatronPatronageDeleteService implements AbstractDeleteService<Patro
 	@Autowired
 	protected PatronPatronageRepository repository;
 
+	@Autowired
+	protected EntityChangePublisher changes;
+
 	// AbstractDeleteService<Patron, Patronage> -------------------------------------
 		
 	@Override
@@ -93,6 +97,7 @@ public class PatronPatronageDeleteService implements AbstractDeleteService<Patro
 		
 		
 		
+		this.changes.onPatronageDeleted(entity);
 		this.repository.delete(entity);
 	}
 
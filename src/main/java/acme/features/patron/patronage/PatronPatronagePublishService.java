@@ -1,18 +1,14 @@
 package acme.features.patron.patronage;
 
-import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.List;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import acme.components.EntityChangePublisher;
+import acme.components.SpamFilter;
 import acme.entities.Patronage;
-import acme.entities.SystemConfiguration;
-import acme.features.administrator.systemConfiguration.AdministratorSystemConfigurationRepository;
-import acme.features.spam.SpamDetector;
 import acme.framework.components.models.Model;
 import acme.framework.controllers.Errors;
 import acme.framework.controllers.Request;
@@ -27,9 +23,12 @@ public class PatronPatronagePublishService implements AbstractUpdateService<Patr
 
 	@Autowired
 	protected PatronPatronageRepository repository;
+
+	@Autowired
+	protected EntityChangePublisher changes;
 	
 	@Autowired
-	protected AdministratorSystemConfigurationRepository	scRepo;
+	protected SpamFilter spamFilter;
 
 	// AbstractUpdateService<Patron, Patronage> -------------------------------------
 
@@ -86,6 +85,7 @@ public class PatronPatronagePublishService implements AbstractUpdateService<Patr
 
 		id = request.getModel().getInteger("id");
 		result = this.repository.findOnePatronageById(id);
+		this.changes.onPatronageLoaded(result);
 
 		return result;
 	}
@@ -96,19 +96,7 @@ public class PatronPatronagePublishService implements AbstractUpdateService<Patr
 		assert entity != null;
 		assert errors != null;
 		
-		final SystemConfiguration sc = this.scRepo.findSystemConfigurationById();
-		final String[] parts = sc.getStrongSpam().split(";");
-		final String[] parts2 = sc.getWeakSpam().split(";");
-		final List<String> strongSpam = new LinkedList<>();
-		final List<String> weakSpam = new LinkedList<>();
-		Collections.addAll(strongSpam, parts);
-		Collections.addAll(weakSpam, parts2);
-
-		if (entity.getLegalStuff() != null && !entity.getLegalStuff().equals("")) {
-			final boolean spam1 = SpamDetector.validateNoSpam(entity.getLegalStuff(), weakSpam, sc.getWeakThreshold()) && SpamDetector.validateNoSpam(entity.getLegalStuff(), strongSpam, sc.getStrongThreshold());
-
-			errors.state(request, spam1, "legalStuff", "patron.patronage.form.label.spam", "spam");
-		}
+		this.spamFilter.validate(request, entity, errors, "patron.patronage.form.label.spam", "legalStuff");
 
 		if (!errors.hasErrors("code")) {
 			final String oldCode = this.repository.findOnePatronageById(entity.getId()).getCode();
@@ -147,6 +135,7 @@ public class PatronPatronagePublishService implements AbstractUpdateService<Patr
 		assert entity != null;
 		
 		entity.setPublished(true);
+		this.changes.onPatronageSaved(entity);
 		this.repository.save(entity);
 	}
 
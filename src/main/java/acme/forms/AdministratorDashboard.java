@@ -1,10 +1,6 @@
 package acme.forms;
-import java.util.List;
 import java.util.Map;
 
-import org.springframework.data.util.Pair;
-
-import acme.framework.datatypes.Money;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -21,15 +17,26 @@ public class AdministratorDashboard {
 
 		Integer								totalNumComponents;
 		Integer								totalNumTools;
-		Map<String,Integer>					numberOfPatronages;
 		
-		Map<String,List<Pair<Double,String>>>			priceOfComponentsStats;
-		Map<String,List<Money>>			priceOfToolsStats;
-		Map<String,Double>			patronagesStats;
+		// Components by "technology, currency", tools by currency
+		GroupStatistics						priceOfComponentsStats;
+		GroupStatistics						priceOfToolsStats;
+		GroupQuantiles						priceQuantiles;
+
+		// Patronages by status, normalised into the system currency, and by status and currency
+		GroupStatistics						patronagesStats;
+		Map<String,GroupStatistics>			patronagesStatsByCurrency;
+		String								systemCurrency;
+
+		// Items and patronages created in each period of the last days
+		GroupTrends							creationTrends;
 		
 		//Chimpum
-		Map<String,List<Pair<Double,String>>> ChimpumStats;
+		GroupStatistics						chimpumStats;
 		double ratioWithChimpum;
 		Integer	totalNumChimpum;
 
-}
\ No newline at end of file
+		// Some figures are missing because their queries did not finish in time
+		boolean								partial;
+
+}
@@ -0,0 +1,57 @@
+package acme.forms;
+
+import java.io.Serializable;
+
+import lombok.Getter;
+
+/*
+ * Approximate percentiles and equal-width histograms of a number of groups, laid out by column.
+ * The histogram of a group starts at its minimum and has bins of the given width.
+ */
+@Getter
+public class GroupQuantiles implements Serializable {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	protected final String[]	groups;
+	protected final double[]	median;
+	protected final double[]	p90;
+	protected final double[]	p99;
+	protected final double[]	histogramStart;
+	protected final double[]	histogramWidth;
+	protected final long[][]	histograms;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public GroupQuantiles(final int size) {
+		this.groups = new String[size];
+		this.median = new double[size];
+		this.p90 = new double[size];
+		this.p99 = new double[size];
+		this.histogramStart = new double[size];
+		this.histogramWidth = new double[size];
+		this.histograms = new long[size][];
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public int getSize() {
+		return this.groups.length;
+	}
+
+	public void set(final int index, final String group, final double median, final double p90, final double p99, final double histogramStart, final double histogramWidth, final long[] histogram) {
+		this.groups[index] = group;
+		this.median[index] = median;
+		this.p90[index] = p90;
+		this.p99[index] = p99;
+		this.histogramStart[index] = histogramStart;
+		this.histogramWidth[index] = histogramWidth;
+		this.histograms[index] = histogram;
+	}
+
+}
@@ -0,0 +1,55 @@
+package acme.forms;
+
+import java.io.Serializable;
+
+import lombok.Getter;
+
+/*
+ * Statistics of a number of groups laid out by column, so that a dashboard with many groups is a
+ * handful of arrays instead of one object per group and statistic. Statistics of empty groups
+ * are NaN.
+ */
+@Getter
+public class GroupStatistics implements Serializable {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	protected final String[]	groups;
+	protected final long[]		counts;
+	protected final double[]	min;
+	protected final double[]	max;
+	protected final double[]	average;
+	protected final double[]	deviation;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public GroupStatistics(final int size) {
+		this.groups = new String[size];
+		this.counts = new long[size];
+		this.min = new double[size];
+		this.max = new double[size];
+		this.average = new double[size];
+		this.deviation = new double[size];
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public int getSize() {
+		return this.groups.length;
+	}
+
+	public void set(final int index, final String group, final long count, final double min, final double max, final double average, final double deviation) {
+		this.groups[index] = group;
+		this.counts[index] = count;
+		this.min[index] = min;
+		this.max[index] = max;
+		this.average[index] = average;
+		this.deviation[index] = deviation;
+	}
+
+}
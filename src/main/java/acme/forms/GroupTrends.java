@@ -0,0 +1,50 @@
+package acme.forms;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import lombok.Getter;
+
+/*
+ * The number and total of the rows of a number of series in consecutive periods, laid out by
+ * column. Each period starts on the given date and ends when the next one starts.
+ */
+@Getter
+public class GroupTrends implements Serializable {
+
+	// Serialisation identifier -----------------------------------------------
+
+	protected static final long	serialVersionUID	= 1L;
+
+	// Attributes -------------------------------------------------------------
+
+	protected final Date[]		starts;
+	protected final String[]	series;
+	protected final long[][]	numbers;
+	protected final double[][]	totals;
+
+	// Constructors -----------------------------------------------------------
+
+
+	public GroupTrends(final Date[] starts, final String[] series) {
+		assert starts != null;
+		assert series != null;
+
+		this.starts = starts;
+		this.series = series;
+		this.numbers = new long[series.length][starts.length];
+		this.totals = new double[series.length][starts.length];
+	}
+
+	// Business methods -------------------------------------------------------
+
+	public int getSize() {
+		return this.series.length;
+	}
+
+	public void add(final int series, final int period, final long number, final double total) {
+		this.numbers[series][period] += number;
+		this.totals[series][period] += total;
+	}
+
+}
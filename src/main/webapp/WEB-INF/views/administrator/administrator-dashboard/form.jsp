@@ -17,142 +17,117 @@
  <%@taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
 
  <acme:form>
+ 	<jstl:if test="${partial}">
+ 		<acme:message code="administrator.administratordashboard.form.label.partial"/>
+ 		<br><br>
+ 	</jstl:if>
  	<acme:input-textbox code="administrator.administratordashboard.form.label.totalNumComponents" path="totalNumComponents"/>
  	<br>
- 	<acme:message code="administrator.administratordashboard.form.label.maxPriceOfComponents"/>
+ 	<acme:message code="administrator.administratordashboard.form.label.priceOfComponents"/>
 	<table class="table small-table">
-		<caption>Maximum Price of Components</caption>	
- 		<jstl:forEach items="${maxPriceOfComponents}" var="i">
- 		<jstl:set var = "split" value = "${fn:split(i,'->')}"/>
-		<jstl:set var = "value" value = "${split[0]}" />
-		<jstl:set var = "string" value = "${split[1]}" />   
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${string}"/>
+		<tr>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.group"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.min"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.max"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.average"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.deviation"/></th>
+		</tr>
+ 		<jstl:forEach items="${priceOfComponents.groups}" var="group" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${group}"/>
 				</th>
-				<td>				
-					<acme:print value="${value}"/>				
-				</td>		
-			</tr>
- 		</jstl:forEach>
- 	</table>
- 	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.minPriceOfComponents"/>
-	<table class="table small-table">
-		<caption>Minimun Price of Components</caption>	
- 		<jstl:forEach items="${minPriceOfComponents}" var="i">
- 		<jstl:set var = "split" value = "${fn:split(i,'->')}"/>
-		<jstl:set var = "value" value = "${split[0]}" />
-		<jstl:set var = "string" value = "${split[1]}" />   
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${string}"/>
-				</th>
-				<td>				
-					<acme:print value="${value}"/>				
-				</td>		
-			</tr>
- 		</jstl:forEach>
- 	</table>
- 	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.averagePriceOfComponents"/>
-	<table class="table small-table">
-		<caption>Average Price of Components</caption>	
- 		<jstl:forEach items="${averagePriceOfComponents}" var="i">
- 		<jstl:set var = "split" value = "${fn:split(i,'->')}"/>
-		<jstl:set var = "value" value = "${split[0]}" />
-		<jstl:set var = "string" value = "${split[1]}" />   
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${string}"/>
-				</th>
-				<td>				
-					<acme:print value="${value}"/>				
-				</td>		
-			</tr>
- 		</jstl:forEach>
- 	</table>
- 	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.deviationPriceOfComponents"/>
-	<table class="table small-table">
-		<caption>Deviation of the Price of Components</caption>
- 		<jstl:forEach items="${deviationPriceOfComponents}" var="i">
- 		<jstl:set var = "split" value = "${fn:split(i,'->')}"/>
-		<jstl:set var = "value" value = "${split[0]}" />
-		<jstl:set var = "string" value = "${split[1]}" />   
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${string}"/>
-				</th>
-				<td>				
-					<acme:print value="${value}"/>				
-				</td>		
+				<td><acme:print value="${priceOfComponents.min[row.index]}"/></td>
+				<td><acme:print value="${priceOfComponents.max[row.index]}"/></td>
+				<td><acme:print value="${priceOfComponents.average[row.index]}"/></td>
+				<td><acme:print value="${priceOfComponents.deviation[row.index]}"/></td>
 			</tr>
  		</jstl:forEach>
  	</table>
  	<br><br><br><br>
  	<acme:input-textbox code="administrator.administratordashboard.form.label.totalNumTools" path="totalNumTools"/>
  	<br>
- 	<acme:message code="administrator.administratordashboard.form.label.maxPriceOfTools"/>
+ 	<acme:message code="administrator.administratordashboard.form.label.priceOfTools"/>
 	<table class="table small-table">
-		<caption>Maximum Price of Tools</caption>	
- 		<jstl:forEach items="${maxPriceOfTools}" var="i"> 
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${i.currency}"/>
+		<tr>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.group"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.min"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.max"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.average"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.deviation"/></th>
+		</tr>
+ 		<jstl:forEach items="${priceOfTools.groups}" var="group" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${group}"/>
 				</th>
-				<td>				
-					<acme:print value="${i.amount}"/>				
-				</td>		
+				<td><acme:print value="${priceOfTools.min[row.index]}"/></td>
+				<td><acme:print value="${priceOfTools.max[row.index]}"/></td>
+				<td><acme:print value="${priceOfTools.average[row.index]}"/></td>
+				<td><acme:print value="${priceOfTools.deviation[row.index]}"/></td>
 			</tr>
  		</jstl:forEach>
  	</table>
- 	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.minPriceOfTools"/>
- 	<table class="table small-table">
- 		<caption>Minimum Price of Tools</caption>	
- 		<jstl:forEach items="${minPriceOfTools}" var="i"> 
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${i.currency}"/>
+ 	<br><br><br><br>
+ 	<acme:message code="administrator.administratordashboard.form.label.priceQuantiles"/>
+	<table class="table small-table">
+		<tr>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.group"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.median"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.p90"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.p99"/></th>
+		</tr>
+ 		<jstl:forEach items="${priceQuantiles.groups}" var="group" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${group}"/>
 				</th>
-				<td>				
-					<acme:print value="${i.amount}"/>				
-				</td>		
+				<td><acme:print value="${priceQuantiles.median[row.index]}"/></td>
+				<td><acme:print value="${priceQuantiles.p90[row.index]}"/></td>
+				<td><acme:print value="${priceQuantiles.p99[row.index]}"/></td>
 			</tr>
  		</jstl:forEach>
  	</table>
  	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.averagePriceOfTools"/>
- 	<table class="table small-table">
- 		<caption>Average Price of Tools</caption>	
- 		<jstl:forEach items="${averagePriceOfTools}" var="i"> 
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${i.currency}"/>
+ 	<acme:message code="administrator.administratordashboard.form.label.priceHistograms"/>
+	<table class="table small-table">
+ 		<jstl:forEach items="${priceQuantiles.groups}" var="group" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${group}"/>
 				</th>
-				<td>				
-					<acme:print value="${i.amount}"/>				
-				</td>		
+ 				<jstl:forEach items="${priceQuantiles.histograms[row.index]}" var="count" varStatus="bin">
+				<td>
+					<acme:print value="${priceQuantiles.histogramStart[row.index] + priceQuantiles.histogramWidth[row.index] * bin.index}"/>: <acme:print value="${count}"/>
+				</td>
+ 				</jstl:forEach>
 			</tr>
  		</jstl:forEach>
  	</table>
  	<br><br>
- 	<acme:message code="administrator.administratordashboard.form.label.deviationPriceOfTools"/>
- 	<table class="table small-table">
- 		<caption>Deviation of the Price of Tools</caption>	
- 		<jstl:forEach items="${deviationPriceOfTools}" var="i"> 
- 			<tr>	
-				<th scope="row">	
-					<acme:print value="${i.currency}"/>
+ 	<acme:message code="administrator.administratordashboard.form.label.creationTrends"/>
+	<table class="table small-table">
+		<tr>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.group"/></th>
+ 			<jstl:forEach items="${creationTrends.starts}" var="start">
+			<th scope="col"><acme:print value="${start}"/></th>
+ 			</jstl:forEach>
+		</tr>
+ 		<jstl:forEach items="${creationTrends.series}" var="series" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${series}"/>
 				</th>
-				<td>				
-					<acme:print value="${i.amount}"/>				
-				</td>		
+ 				<jstl:forEach items="${creationTrends.numbers[row.index]}" var="number" varStatus="period">
+				<td>
+					<acme:print value="${number}"/> / <acme:print value="${creationTrends.totals[row.index][period.index]}"/>
+				</td>
+ 				</jstl:forEach>
 			</tr>
  		</jstl:forEach>
  	</table>
  	<br><br><br><br>
+ 	<acme:input-textbox code="administrator.administratordashboard.form.label.systemCurrency" path="systemCurrency"/>
  	<acme:input-textbox code="administrator.administratordashboard.form.label.numberOfAcceptedPatronages" path="numberOfAcceptedPatronages"/>
  	<acme:input-money code="administrator.administratordashboard.form.label.maxAcceptedPatronages" path="maxAcceptedPatronages"/>
  	<acme:input-money code="administrator.administratordashboard.form.label.minAcceptedPatronages" path="minAcceptedPatronages"/>
@@ -168,4 +143,31 @@
  	<acme:input-money code="administrator.administratordashboard.form.label.minProposedPatronages" path="minProposedPatronages"/>
  	<acme:input-money code="administrator.administratordashboard.form.label.averageProposedPatronages" path="averageProposedPatronages"/>
  	<acme:input-money code="administrator.administratordashboard.form.label.deviationProposedPatronages" path="deviationProposedPatronages"/>
+ 	<br><br>
+ 	<jstl:forTokens items="Accepted,Denied,Proposed" delims="," var="status">
+ 	<acme:message code="administrator.administratordashboard.form.label.${fn:toLowerCase(status)}PatronagesByCurrency"/>
+	<table class="table small-table">
+		<tr>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.currency"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.min"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.max"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.average"/></th>
+			<th scope="col"><acme:message code="administrator.administratordashboard.form.label.deviation"/></th>
+		</tr>
+ 		<jstl:set var="byCurrency" value="${patronagesByCurrency[status]}"/>
+ 		<jstl:forEach items="${byCurrency.groups}" var="currency" varStatus="row">
+ 			<tr>
+				<th scope="row">
+					<acme:print value="${currency}"/>
+				</th>
+				<td><acme:print value="${byCurrency.min[row.index]}"/></td>
+				<td><acme:print value="${byCurrency.max[row.index]}"/></td>
+				<td><acme:print value="${byCurrency.average[row.index]}"/></td>
+				<td><acme:print value="${byCurrency.deviation[row.index]}"/></td>
+			</tr>
+ 		</jstl:forEach>
+ 	</table>
+ 	<br>
+ 	</jstl:forTokens>
+ 	<acme:button code="administrator.administratordashboard.form.button.export" action="/administrator/administrator-dashboard/export"/>
  </acme:form> 
\ No newline at end of file
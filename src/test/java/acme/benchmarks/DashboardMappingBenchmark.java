@@ -0,0 +1,213 @@
+package acme.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.util.Pair;
+
+import acme.entities.ItemType;
+import acme.features.administrator.dashboards.AdministratorDashboardSnapshot;
+import acme.features.administrator.dashboards.StatisticsRow;
+import acme.forms.AdministratorDashboard;
+import acme.framework.datatypes.Money;
+
+/*
+ * Compares the former mapping of the administrator dashboard, which unpacked one Object[] result
+ * set per statistic into lists of pairs and money, with the typed StatisticsRow projections mapped
+ * into column-oriented GroupStatistics. Both start from the same synthetic result set of component
+ * groups by technology and tool groups by currency, so that materialising the rows is included.
+ * Run it with "mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=acme.benchmarks.DashboardMappingBenchmark" or from the IDE; add "-prof gc" to the
+ * JMH options to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardMappingBenchmark {
+
+	// Constants --------------------------------------------------------------
+
+	protected static final String[]	CURRENCIES	= {
+		"EUR", "USD", "GBP", "JPY", "CHF"
+	};
+
+	// Internal state ---------------------------------------------------------
+
+	@Param({
+		"100", "10000"
+	})
+	protected int					groups;
+
+	// Component groups followed by one tool group per currency, as columns.
+	protected ItemType[]			types;
+	protected String[]				technologies;
+	protected String[]				currencies;
+	protected long[]				counts;
+	protected double[]				sums;
+	protected double[]				sumsOfSquares;
+	protected double[]				mins;
+	protected double[]				maxs;
+
+	// Set-up -----------------------------------------------------------------
+
+
+	@Setup
+	public void setUp() {
+		Random random;
+		int size;
+		double min;
+		double max;
+
+		random = new Random(42);
+		size = this.groups + DashboardMappingBenchmark.CURRENCIES.length;
+		this.types = new ItemType[size];
+		this.technologies = new String[size];
+		this.currencies = new String[size];
+		this.counts = new long[size];
+		this.sums = new double[size];
+		this.sumsOfSquares = new double[size];
+		this.mins = new double[size];
+		this.maxs = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			this.types[i] = i < this.groups ? ItemType.COMPONENT : ItemType.TOOL;
+			this.technologies[i] = "technology-" + i;
+			this.currencies[i] = DashboardMappingBenchmark.CURRENCIES[i % DashboardMappingBenchmark.CURRENCIES.length];
+			this.counts[i] = 1 + random.nextInt(50);
+			min = random.nextInt(10000) / 100.0;
+			max = min + random.nextInt(10000) / 100.0;
+			this.mins[i] = min;
+			this.maxs[i] = max;
+			this.sums[i] = (min + max) / 2 * this.counts[i];
+			this.sumsOfSquares[i] = (min * min + max * max) / 2 * this.counts[i];
+		}
+	}
+
+	// Benchmarks -------------------------------------------------------------
+
+	@Benchmark
+	public void legacyMapping(final Blackhole blackhole) {
+		Map<String, List<Pair<Double, String>>> priceOfComponentsStats;
+		Map<String, List<Money>> priceOfToolsStats;
+		String[] statistics;
+
+		statistics = new String[] {
+			"max", "min", "average", "deviation"
+		};
+		priceOfComponentsStats = new HashMap<>();
+		priceOfToolsStats = new HashMap<>();
+		for (int s = 0; s < statistics.length; s++) {
+			final List<Object[]> components = new ArrayList<>();
+			final List<Object[]> tools = new ArrayList<>();
+
+			for (int i = 0; i < this.types.length; i++)
+				if (this.types[i] == ItemType.COMPONENT)
+					components.add(new Object[] {
+						this.statistic(s, i), this.technologies[i], this.currencies[i]
+					});
+				else
+					tools.add(new Object[] {
+						this.statistic(s, i), this.currencies[i]
+					});
+
+			priceOfComponentsStats.put(statistics[s], DashboardMappingBenchmark.objectListToPairList(components));
+			priceOfToolsStats.put(statistics[s], DashboardMappingBenchmark.objectListToMoneyList(tools));
+		}
+
+		blackhole.consume(priceOfComponentsStats);
+		blackhole.consume(priceOfToolsStats);
+	}
+
+	@Benchmark
+	public AdministratorDashboard columnMapping() {
+		AdministratorDashboardSnapshot snapshot;
+		StatisticsRow row;
+
+		snapshot = new AdministratorDashboardSnapshot();
+		for (int i = 0; i < this.types.length; i++) {
+			row = new StatisticsRow(this.types[i], this.technologies[i], this.currencies[i], this.counts[i], this.sums[i], this.sumsOfSquares[i], this.mins[i], this.maxs[i]);
+			snapshot.mergeItems(row.getType(), row.getTechnology(), row.getCurrency(), row.getStatistics());
+		}
+
+		return snapshot.toDashboard(Collections.emptyMap());
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	// The value that the former per-statistic query returned for a group, boxed as the provider did.
+	protected Double statistic(final int statistic, final int index) {
+		double mean;
+
+		mean = this.sums[index] / this.counts[index];
+		switch (statistic) {
+		case 0:
+			return this.maxs[index];
+		case 1:
+			return this.mins[index];
+		case 2:
+			return mean;
+		default:
+			return Math.sqrt(Math.max(0.0, this.sumsOfSquares[index] / this.counts[index] - mean * mean));
+		}
+	}
+
+	// The former AdministratorDashBoardShowService mappings, kept as the baseline.
+
+	protected static List<Money> objectListToMoneyList(final List<Object[]> list) {
+		final List<Money> res = new ArrayList<Money>();
+		for (final Object[] object : list) {
+			final Money money = new Money();
+			money.setAmount((Double) object[0]);
+			money.setCurrency((String) object[1]);
+			res.add(money);
+		}
+		return res;
+	}
+
+	protected static List<Pair<Double, String>> objectListToPairList(final List<Object[]> list) {
+		final List<Pair<Double, String>> res = new ArrayList<Pair<Double, String>>();
+		for (final Object[] object : list) {
+			String string = "";
+			for (int i = 1; i < object.length; i++) {
+				final Double value = (Double) object[0];
+				while (i < object.length - 1) {
+					string += ((String) object[i]) + ", ";
+					i++;
+				}
+				string += ((String) object[i]);
+				res.add(Pair.of(value, string));
+			}
+		}
+		return res;
+	}
+
+	// Entry point ------------------------------------------------------------
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DashboardMappingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
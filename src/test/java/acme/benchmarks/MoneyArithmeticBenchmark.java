@@ -0,0 +1,114 @@
+package acme.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import acme.components.MoneyArithmetic;
+
+/*
+ * Compares the boxed Double path used to price toolkits with the fixed-point MoneyArithmetic path.
+ * Run it with "mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=acme.benchmarks.MoneyArithmeticBenchmark" or from the IDE; add "-prof gc" to the
+ * JMH options to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+	// Internal state ---------------------------------------------------------
+
+	@Param({
+		"10", "1000", "100000"
+	})
+	protected int		size;
+
+	protected Double[]	boxedAmounts;
+	protected Integer[]	boxedQuantities;
+	protected Double	boxedRate;
+
+	protected long[]	amounts;
+	protected int[]		quantities;
+	protected long		rateMantissa;
+	protected int		rateScale;
+
+	// Set-up -----------------------------------------------------------------
+
+
+	@Setup
+	public void setUp() {
+		Random random;
+		double amount;
+
+		random = new Random(42);
+		this.boxedAmounts = new Double[this.size];
+		this.boxedQuantities = new Integer[this.size];
+		this.amounts = new long[this.size];
+		this.quantities = new int[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			amount = random.nextInt(100000) / 100.0;
+			this.boxedAmounts[i] = amount;
+			this.boxedQuantities[i] = 1 + random.nextInt(10);
+			this.amounts[i] = MoneyArithmetic.toMinorUnits(amount);
+			this.quantities[i] = this.boxedQuantities[i];
+		}
+
+		this.boxedRate = 1.0837;
+		this.rateScale = MoneyArithmetic.toRateScale(this.boxedRate);
+		this.rateMantissa = MoneyArithmetic.toRateMantissa(this.boxedRate, this.rateScale);
+	}
+
+	// Benchmarks -------------------------------------------------------------
+
+	@Benchmark
+	public Double boxedTotalPrice() {
+		Double sum = 0.;
+		Double converted;
+
+		for (int i = 0; i < this.size; i++) {
+			converted = this.boxedRate * this.boxedAmounts[i];
+			sum += converted * this.boxedQuantities[i];
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public long fixedPointTotalPrice() {
+		long sum = 0;
+		long converted;
+
+		for (int i = 0; i < this.size; i++) {
+			converted = MoneyArithmetic.convert(this.amounts[i], this.rateMantissa, this.rateScale);
+			sum = MoneyArithmetic.add(sum, MoneyArithmetic.multiply(converted, this.quantities[i]));
+		}
+
+		return sum;
+	}
+
+	// Entry point ------------------------------------------------------------
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MoneyArithmeticBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,245 @@
+package acme.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import acme.components.SpamMatcher;
+import acme.features.spam.SpamDetector;
+
+/*
+ * Compares SpamDetector, called once per list as the services used to, with the compiled SpamMatcher
+ * that replaced it, scoring one text per operation against a strong and a weak list with the
+ * thresholds of the sample system configuration. The texts are cut from the cells of the sample-data
+ * CSVs to the given length, and the lists hold the sample spam terms followed by the pairs of
+ * adjacent words of those cells, then by as many pairs of unrelated words as needed, which are
+ * rarely found. Terms that occur twice in any text are left out, since SpamDetector never
+ * returns on them; the set-up checks that both detectors reach the same verdicts. Run it from the
+ * project root with "mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=acme.benchmarks.SpamDetectorBenchmark" or from the IDE; add "-prof gc" to the JMH
+ * options to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpamDetectorBenchmark {
+
+	// Constants --------------------------------------------------------------
+
+	protected static final String	SAMPLE_DATA	= "src/main/webapp/WEB-INF/resources/sample-data";
+
+	protected static final int		TEXTS		= 512;
+
+	// Internal state ---------------------------------------------------------
+
+	@Param({
+		"10", "64", "255"
+	})
+	protected int					length;
+
+	@Param({
+		"10", "1000", "10000"
+	})
+	protected int					terms;
+
+	protected String[]				texts;
+	protected int					next;
+
+	protected List<String>			strongSpam;
+	protected List<String>			weakSpam;
+	protected double				strongThreshold;
+	protected double				weakThreshold;
+
+	protected SpamMatcher			matcher;
+	protected SpamMatcher.Buffer	buffer;
+
+	// Set-up -----------------------------------------------------------------
+
+
+	@Setup
+	public void setUp() throws IOException, CsvException {
+		List<String> cells;
+		List<String> candidates;
+		List<String> vocabulary;
+		String[] configuration;
+		Set<String> normalised;
+		String[] samples;
+		List<String> spam;
+		Random random;
+		StringBuilder text;
+
+		cells = new ArrayList<>();
+		configuration = null;
+		try (Stream<Path> files = Files.list(Paths.get(SpamDetectorBenchmark.SAMPLE_DATA))) {
+			for (final Path file : files.sorted().collect(Collectors.toList()))
+				try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8); CSVReader csv = new CSVReader(reader)) {
+					final List<String[]> rows = csv.readAll();
+
+					if (file.getFileName().toString().equals("system-configuration.csv"))
+						configuration = rows.get(1);
+					for (final String[] row : rows.subList(1, rows.size()))
+						for (int i = 1; i < row.length; i++)
+							if (row[i].chars().anyMatch(Character::isLetter))
+								cells.add(row[i]);
+				}
+		}
+		assert configuration != null;
+
+		random = new Random(42);
+		this.texts = new String[SpamDetectorBenchmark.TEXTS];
+		for (int t = 0; t < this.texts.length; t++) {
+			text = new StringBuilder();
+			while (text.length() < this.length)
+				text.append(cells.get(random.nextInt(cells.size()))).append(' ');
+			this.texts[t] = text.substring(0, this.length);
+		}
+		samples = Arrays.stream(this.texts).map(SpamDetectorBenchmark::normalise).toArray(String[]::new);
+
+		candidates = new ArrayList<>();
+		candidates.addAll(Arrays.asList(configuration[3].split(SpamMatcher.SEPARATOR)));
+		candidates.addAll(Arrays.asList(configuration[5].split(SpamMatcher.SEPARATOR)));
+		candidates.addAll(SpamDetectorBenchmark.pairs(cells, random));
+		vocabulary = SpamDetectorBenchmark.words(cells);
+
+		spam = new ArrayList<>(this.terms);
+		normalised = new HashSet<>();
+		for (int i = 0; spam.size() < this.terms; i++) {
+			final String candidate = i < candidates.size() ? candidates.get(i) : vocabulary.get(random.nextInt(vocabulary.size())) + " " + vocabulary.get(random.nextInt(vocabulary.size()));
+			final String term = SpamDetectorBenchmark.normalise(candidate);
+
+			if (!term.isEmpty() && !normalised.contains(term) && SpamDetectorBenchmark.occursOnce(term, samples)) {
+				normalised.add(term);
+				spam.add(candidate);
+			}
+		}
+
+		this.strongSpam = spam.subList(0, spam.size() / 2);
+		this.weakSpam = spam.subList(spam.size() / 2, spam.size());
+		this.strongThreshold = Double.parseDouble(configuration[4]);
+		this.weakThreshold = Double.parseDouble(configuration[6]);
+		this.matcher = new SpamMatcher(String.join(SpamMatcher.SEPARATOR, this.strongSpam), this.strongThreshold, String.join(SpamMatcher.SEPARATOR, this.weakSpam), this.weakThreshold);
+		this.buffer = new SpamMatcher.Buffer();
+
+		for (final String sample : this.texts)
+			if (this.detect(sample) != this.matcher.validateNoSpam(sample, this.buffer))
+				throw new IllegalStateException("The detectors disagree on \"" + sample + "\".");
+	}
+
+	// Benchmarks -------------------------------------------------------------
+
+	@Benchmark
+	public boolean detector() {
+		return this.detect(this.nextText());
+	}
+
+	@Benchmark
+	public boolean matcher() {
+		return this.matcher.validateNoSpam(this.nextText(), this.buffer);
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected String nextText() {
+		final String result = this.texts[this.next];
+
+		this.next = (this.next + 1) % this.texts.length;
+
+		return result;
+	}
+
+	protected boolean detect(final String text) {
+		return SpamDetector.validateNoSpam(text, this.strongSpam, this.strongThreshold) && SpamDetector.validateNoSpam(text, this.weakSpam, this.weakThreshold);
+	}
+
+	// Returns true if the term occurs at most once in every normalised text.
+	protected static boolean occursOnce(final String term, final String[] samples) {
+		int index;
+
+		for (final String sample : samples) {
+			index = sample.indexOf(term);
+			if (index >= 0 && sample.indexOf(term, index + term.length()) >= 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	protected static String normalise(final String text) {
+		return text.replace(" ", "").replace("\n", "n").toLowerCase().trim();
+	}
+
+	// The words of the cells with three letters or more.
+	protected static List<String> words(final List<String> cells) {
+		Set<String> result;
+
+		result = new LinkedHashSet<>();
+		for (final String cell : cells)
+			for (final String word : cell.toLowerCase().split("[^\\p{L}]+"))
+				if (word.length() >= 3)
+					result.add(word);
+
+		return new ArrayList<>(result);
+	}
+
+	// The pairs of adjacent words of the cells, shuffled.
+	protected static List<String> pairs(final List<String> cells, final Random random) {
+		List<String> result;
+		Set<String> pairs;
+		String[] words;
+
+		pairs = new LinkedHashSet<>();
+		for (final String cell : cells) {
+			words = cell.toLowerCase().split("[^\\p{L}]+");
+			for (int i = 0; i + 1 < words.length; i++)
+				if (words[i].length() >= 3 && words[i + 1].length() >= 3)
+					pairs.add(words[i] + " " + words[i + 1]);
+		}
+
+		result = new ArrayList<>(pairs);
+		Collections.shuffle(result, random);
+
+		return result;
+	}
+
+	// Entry point ------------------------------------------------------------
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SpamDetectorBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,103 @@
+package acme.components;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks that MoneyArithmetic rounds half away from zero, symmetrically for negative values, that
+ * rates keep their significant digits whatever their magnitude, and that conversions whose
+ * fixed-point product overflows give the same results through BigDecimals.
+ */
+public class MoneyArithmeticTest {
+
+	// Test cases -------------------------------------------------------------
+
+	@Test
+	public void toMinorUnitsRoundsHalfAwayFromZero() {
+		Assertions.assertEquals(13L, MoneyArithmetic.toMinorUnits(0.125));
+		Assertions.assertEquals(-13L, MoneyArithmetic.toMinorUnits(-0.125));
+		Assertions.assertEquals(12L, MoneyArithmetic.toMinorUnits(0.1249));
+		Assertions.assertEquals(-12L, MoneyArithmetic.toMinorUnits(-0.1249));
+		Assertions.assertEquals(0L, MoneyArithmetic.toMinorUnits(0.0));
+		Assertions.assertEquals(-123456L, MoneyArithmetic.toMinorUnits(-1234.56));
+	}
+
+	@Test
+	public void divideRoundsAtHalfBoundaries() {
+		Assertions.assertEquals(2L, MoneyArithmetic.divide(150L, 100L));
+		Assertions.assertEquals(1L, MoneyArithmetic.divide(149L, 100L));
+		Assertions.assertEquals(-2L, MoneyArithmetic.divide(-150L, 100L));
+		Assertions.assertEquals(-1L, MoneyArithmetic.divide(-149L, 100L));
+		Assertions.assertEquals(1L, MoneyArithmetic.divide(50L, 100L));
+		Assertions.assertEquals(-1L, MoneyArithmetic.divide(-50L, 100L));
+		Assertions.assertEquals(0L, MoneyArithmetic.divide(49L, 100L));
+		Assertions.assertEquals(0L, MoneyArithmetic.divide(-49L, 100L));
+		Assertions.assertEquals(3L, MoneyArithmetic.divide(5L, 2L));
+		Assertions.assertEquals(-3L, MoneyArithmetic.divide(-5L, 2L));
+		Assertions.assertEquals(Long.MAX_VALUE / 10 + 1, MoneyArithmetic.divide(Long.MAX_VALUE, 10L));
+		Assertions.assertEquals(Long.MIN_VALUE / 10 - 1, MoneyArithmetic.divide(Long.MIN_VALUE, 10L));
+	}
+
+	@Test
+	public void ratesKeepTheirSignificantDigits() {
+		this.checkRate(1.0837, 10837L, 4);
+		this.checkRate(0.0061234567, 61234567L, 10);
+		this.checkRate(0.0000374512, 374512L, 10);
+		this.checkRate(0.333333333333333, 333333333333333L, 15);
+		this.checkRate(153.25, 15325L, 2);
+		this.checkRate(2.0, 2L, 0);
+	}
+
+	@Test
+	public void convertRoundsAtHalfBoundaries() {
+		// A rate of 0.5, and rates one unit of the fifteenth significant digit below and above it.
+		Assertions.assertEquals(1L, MoneyArithmetic.convert(1L, 5L, 1));
+		Assertions.assertEquals(-1L, MoneyArithmetic.convert(-1L, 5L, 1));
+		Assertions.assertEquals(2L, MoneyArithmetic.convert(3L, 5L, 1));
+		Assertions.assertEquals(-2L, MoneyArithmetic.convert(-3L, 5L, 1));
+		Assertions.assertEquals(0L, MoneyArithmetic.convert(1L, 499_999_999_999_999L, 15));
+		Assertions.assertEquals(0L, MoneyArithmetic.convert(-1L, 499_999_999_999_999L, 15));
+		Assertions.assertEquals(1L, MoneyArithmetic.convert(1L, 500_000_000_000_001L, 15));
+		Assertions.assertEquals(-1L, MoneyArithmetic.convert(-1L, 500_000_000_000_001L, 15));
+	}
+
+	@Test
+	public void convertKeepsSmallRates() {
+		// 1,000,000.00 VND at 0.0000374512 EUR/VND and 1,000,000.00 JPY at 0.0061234567 EUR/JPY.
+		Assertions.assertEquals(37.45, MoneyArithmetic.convert(1_000_000.0, 0.0000374512));
+		Assertions.assertEquals(6_123.46, MoneyArithmetic.convert(1_000_000.0, 0.0061234567));
+		Assertions.assertEquals(-6_123.46, MoneyArithmetic.convert(-1_000_000.0, 0.0061234567));
+	}
+
+	@Test
+	public void convertRoundsAmountsOnce() {
+		Assertions.assertEquals(0.01, MoneyArithmetic.convert(0.01, 0.5));
+		Assertions.assertEquals(-0.01, MoneyArithmetic.convert(-0.01, 0.5));
+		Assertions.assertEquals(108.37, MoneyArithmetic.convert(100.0, 1.0837));
+		Assertions.assertEquals(-108.37, MoneyArithmetic.convert(-100.0, 1.0837));
+	}
+
+	@Test
+	public void convertFallsBackOnOverflow() {
+		// 10,000,000,000.00 times a mantissa of fifteen digits overflows a long.
+		Assertions.assertEquals(333_333_333_333L, MoneyArithmetic.convert(1_000_000_000_000L, 333_333_333_333_333L, 15));
+		Assertions.assertEquals(-333_333_333_333L, MoneyArithmetic.convert(-1_000_000_000_000L, 333_333_333_333_333L, 15));
+		Assertions.assertEquals(500_000_000_001L, MoneyArithmetic.convert(1_000_000_000_001L, 500_000_000_000_000L, 15));
+		Assertions.assertEquals(-500_000_000_001L, MoneyArithmetic.convert(-1_000_000_000_001L, 500_000_000_000_000L, 15));
+	}
+
+	@Test
+	public void overflowsAreReported() {
+		Assertions.assertThrows(ArithmeticException.class, () -> MoneyArithmetic.multiply(Long.MAX_VALUE, 2L));
+		Assertions.assertThrows(ArithmeticException.class, () -> MoneyArithmetic.add(Long.MAX_VALUE, 1L));
+		Assertions.assertThrows(ArithmeticException.class, () -> MoneyArithmetic.convert(Long.MAX_VALUE, 2L, 0));
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void checkRate(final double rate, final long mantissa, final int scale) {
+		Assertions.assertEquals(scale, MoneyArithmetic.toRateScale(rate));
+		Assertions.assertEquals(mantissa, MoneyArithmetic.toRateMantissa(rate, scale));
+	}
+
+}
@@ -0,0 +1,148 @@
+package acme.components;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the quantiles and the cumulative distribution of QuantileSketch: exactly on inputs small
+ * enough to be kept as one centroid per value, and within a rank error of one percent on a skewed
+ * input, alone or merged from several sketches.
+ */
+public class QuantileSketchTest {
+
+	// Constants --------------------------------------------------------------
+
+	protected static final double	RANK_ERROR	= 0.01;
+
+	// Test cases -------------------------------------------------------------
+
+	@Test
+	public void emptySketches() {
+		final QuantileSketch sketch = new QuantileSketch();
+
+		Assertions.assertEquals(0L, sketch.getCount());
+		Assertions.assertNull(sketch.getMin());
+		Assertions.assertNull(sketch.getMax());
+		Assertions.assertNull(sketch.quantile(0.5));
+		Assertions.assertEquals(0.0, sketch.cdf(1.0));
+	}
+
+	@Test
+	public void singleValues() {
+		final QuantileSketch sketch = new QuantileSketch();
+
+		sketch.add(42.0);
+
+		Assertions.assertEquals(1L, sketch.getCount());
+		Assertions.assertEquals(42.0, sketch.quantile(0.0));
+		Assertions.assertEquals(42.0, sketch.quantile(0.5));
+		Assertions.assertEquals(42.0, sketch.quantile(1.0));
+		Assertions.assertEquals(0.0, sketch.cdf(41.0));
+		Assertions.assertEquals(1.0, sketch.cdf(42.0));
+	}
+
+	@Test
+	public void smallInputs() {
+		final QuantileSketch sketch = new QuantileSketch();
+
+		for (final double value : new double[] {
+			5.0, 1.0, 4.0, 2.0, 3.0
+		})
+			sketch.add(value);
+
+		Assertions.assertEquals(5L, sketch.getCount());
+		Assertions.assertEquals(1.0, sketch.getMin());
+		Assertions.assertEquals(5.0, sketch.getMax());
+		Assertions.assertEquals(1.0, sketch.quantile(0.0));
+		Assertions.assertEquals(3.0, sketch.quantile(0.5));
+		Assertions.assertEquals(5.0, sketch.quantile(1.0));
+		Assertions.assertEquals(0.0, sketch.cdf(0.5));
+		Assertions.assertEquals(0.5, sketch.cdf(3.0));
+		Assertions.assertEquals(1.0, sketch.cdf(5.0));
+		Assertions.assertEquals(1.0, sketch.cdf(6.0));
+	}
+
+	@Test
+	public void skewedInputs() {
+		final double[] values = QuantileSketchTest.logNormal(100_000, 1);
+		final QuantileSketch sketch = new QuantileSketch();
+
+		for (final double value : values)
+			sketch.add(value);
+
+		Assertions.assertEquals(values.length, sketch.getCount());
+		QuantileSketchTest.checkQuantiles(sketch, values);
+		Assertions.assertTrue(sketch.centroids <= 2 * QuantileSketch.DEFAULT_COMPRESSION, "Too many centroids: " + sketch.centroids);
+	}
+
+	@Test
+	public void mergedSketches() {
+		final double[] values = QuantileSketchTest.logNormal(30_000, 2);
+		final QuantileSketch merged = new QuantileSketch();
+		QuantileSketch part;
+
+		for (int p = 0; p < 3; p++) {
+			part = new QuantileSketch();
+			for (int i = p; i < values.length; i += 3)
+				part.add(values[i]);
+			merged.merge(part);
+		}
+		merged.merge(new QuantileSketch());
+
+		Assertions.assertEquals(values.length, merged.getCount());
+		QuantileSketchTest.checkQuantiles(merged, values);
+	}
+
+	@Test
+	public void mergedIntoEmptySketches() {
+		final QuantileSketch sketch = new QuantileSketch();
+		final QuantileSketch merged = new QuantileSketch();
+
+		sketch.add(1.0);
+		sketch.add(2.0);
+		sketch.add(3.0);
+		merged.merge(sketch);
+
+		Assertions.assertEquals(3L, merged.getCount());
+		Assertions.assertEquals(1.0, merged.getMin());
+		Assertions.assertEquals(3.0, merged.getMax());
+		Assertions.assertEquals(2.0, merged.quantile(0.5));
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	// Checks that every quantile lies between the values of the exact ranks around it, and that
+	// the cdf of it is close to the requested fraction.
+	protected static void checkQuantiles(final QuantileSketch sketch, final double[] values) {
+		final double[] sorted = values.clone();
+
+		Arrays.sort(sorted);
+		Assertions.assertEquals(sorted[0], sketch.getMin());
+		Assertions.assertEquals(sorted[sorted.length - 1], sketch.getMax());
+
+		for (final double q : new double[] {
+			0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999
+		}) {
+			final double quantile = sketch.quantile(q);
+			final double lower = sorted[(int) Math.max(0, Math.floor((q - QuantileSketchTest.RANK_ERROR) * sorted.length))];
+			final double upper = sorted[(int) Math.min(sorted.length - 1, Math.ceil((q + QuantileSketchTest.RANK_ERROR) * sorted.length))];
+
+			Assertions.assertTrue(lower <= quantile && quantile <= upper, "Quantile " + q + " is " + quantile + ", not in [" + lower + ", " + upper + "]");
+			Assertions.assertEquals(q, sketch.cdf(quantile), QuantileSketchTest.RANK_ERROR);
+		}
+	}
+
+	protected static double[] logNormal(final int size, final long seed) {
+		final Random random = new Random(seed);
+		final double[] result = new double[size];
+
+		for (int i = 0; i < size; i++)
+			result[i] = Math.exp(2.0 * random.nextGaussian());
+
+		return result;
+	}
+
+}
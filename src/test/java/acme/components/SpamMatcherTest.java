@@ -0,0 +1,146 @@
+package acme.components;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import acme.features.spam.SpamDetector;
+
+/*
+ * Checks that SpamMatcher reaches the verdicts of SpamDetector on the spam lists and thresholds of
+ * the sample system configuration. The scores of the texts are set right at the thresholds and one
+ * character past them, so the ratios are checked as well as the verdicts. No term occurs twice in
+ * the texts given to SpamDetector, since it never returns on them.
+ */
+public class SpamMatcherTest {
+
+	// Constants --------------------------------------------------------------
+
+	protected static final String		STRONG_SPAM			= "sex;hard core;sexo;extremo;viagra;cialis";
+
+	protected static final double		STRONG_THRESHOLD	= 0.10;
+
+	protected static final String		WEAK_SPAM			= "sexy;nigeria;you’ve won;has ganado;one million;un millon";
+
+	protected static final double		WEAK_THRESHOLD		= 0.25;
+
+	protected static final SpamMatcher	MATCHER				= new SpamMatcher(SpamMatcherTest.STRONG_SPAM, SpamMatcherTest.STRONG_THRESHOLD, SpamMatcherTest.WEAK_SPAM, SpamMatcherTest.WEAK_THRESHOLD);
+
+	// Test cases -------------------------------------------------------------
+
+	@Test
+	public void countsTheTermsOfBothLists() {
+		Assertions.assertEquals(12, SpamMatcherTest.MATCHER.getTermCount());
+	}
+
+	@Test
+	public void cleanTexts() {
+		this.check("Build a birdhouse with a hammer and nails", true);
+		this.check("Toolkit for beginners", true);
+		this.check("x", true);
+	}
+
+	@Test
+	public void singleTermsAtTheStrongThreshold() {
+		// "viagra" covers 6 of 60 characters, and then 6 of 59.
+		this.check("viagra " + SpamMatcherTest.filler(54), true);
+		this.check("viagra " + SpamMatcherTest.filler(53), false);
+		this.check("VIAGRA " + SpamMatcherTest.filler(54), true);
+		this.check("ViAgRa " + SpamMatcherTest.filler(53), false);
+	}
+
+	@Test
+	public void multiWordTermsIgnoreSpaces() {
+		// "hard core" covers 8 characters, whether it is written with one space, several or none.
+		this.check("hard core " + SpamMatcherTest.filler(72), true);
+		this.check("hard core " + SpamMatcherTest.filler(71), false);
+		this.check("Hard   Core " + SpamMatcherTest.filler(71), false);
+		this.check("hardcore " + SpamMatcherTest.filler(71), false);
+		this.check("har d cor e " + SpamMatcherTest.filler(72), true);
+	}
+
+	@Test
+	public void multiWordTermsAtTheWeakThreshold() {
+		// "one million" covers 10 of 40 characters, and then 10 of 39.
+		this.check("one million " + SpamMatcherTest.filler(30), true);
+		this.check("one million " + SpamMatcherTest.filler(29), false);
+		// "you’ve won" covers 9 of 36 characters, and then 9 of 35.
+		this.check("You’ve won " + SpamMatcherTest.filler(27), true);
+		this.check("You’ve won " + SpamMatcherTest.filler(26), false);
+	}
+
+	@Test
+	public void overlappingTermsAreAllCounted() {
+		// "sexo" covers 4 characters and the "sex" within it 3 more: 7 of 70, and then 7 of 69.
+		this.check("sexo " + SpamMatcherTest.filler(66), true);
+		this.check("sexo " + SpamMatcherTest.filler(65), false);
+		// "sexy" counts 3 in the strong list and 4 in the weak one: 3 of 30 and 4 of 30.
+		this.check("sexy " + SpamMatcherTest.filler(26), true);
+		this.check("sexy " + SpamMatcherTest.filler(25), false);
+		// "extremo", "sexo" and the "sex" within it cover 14 of 140 characters, and then 14 of 139.
+		this.check("extremo sexo " + SpamMatcherTest.filler(129), true);
+		this.check("extremosexo " + SpamMatcherTest.filler(128), false);
+	}
+
+	@Test
+	public void bothListsAreChecked() {
+		// "nigeria" covers 7 of 28 characters in the weak list, and then 7 of 27, while the strong
+		// list is clean.
+		this.check("nigeria " + SpamMatcherTest.filler(21), true);
+		this.check("nigeria " + SpamMatcherTest.filler(20), false);
+		// "cialis" covers 6 of 60 characters in the strong list and "nigeria" 7 of 60 in the weak one.
+		this.check("cialis nigeria " + SpamMatcherTest.filler(47), true);
+	}
+
+	@Test
+	public void repeatedTermsAreCountedTwice() {
+		// SpamDetector never returns on these texts, so only the matcher is checked.
+		Assertions.assertTrue(SpamMatcherTest.MATCHER.validateNoSpam("viagra viagra " + SpamMatcherTest.filler(108)));
+		Assertions.assertFalse(SpamMatcherTest.MATCHER.validateNoSpam("viagra viagra " + SpamMatcherTest.filler(107)));
+		Assertions.assertFalse(SpamMatcherTest.MATCHER.validateNoSpam("viagra " + SpamMatcherTest.filler(50) + " viagra " + SpamMatcherTest.filler(50)));
+	}
+
+	@Test
+	public void emptyTextsAreClean() {
+		// SpamDetector reports them as spam, since their score is not a number.
+		Assertions.assertTrue(SpamMatcherTest.MATCHER.validateNoSpam(""));
+		Assertions.assertTrue(SpamMatcherTest.MATCHER.validateNoSpam(" \t\n "));
+		Assertions.assertTrue(SpamMatcherTest.MATCHER.validateNoSpam(null));
+	}
+
+	@Test
+	public void buffersCanBeReused() {
+		final SpamMatcher.Buffer buffer = new SpamMatcher.Buffer();
+
+		Assertions.assertFalse(SpamMatcherTest.MATCHER.validateNoSpam("viagra " + SpamMatcherTest.filler(53), buffer));
+		Assertions.assertTrue(SpamMatcherTest.MATCHER.validateNoSpam("viagra " + SpamMatcherTest.filler(54), buffer));
+		Assertions.assertFalse(SpamMatcherTest.MATCHER.validateNoSpam("viagra " + SpamMatcherTest.filler(53), buffer));
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected void check(final String text, final boolean clean) {
+		final List<String> strongSpam = Arrays.asList(SpamMatcherTest.STRONG_SPAM.split(SpamMatcher.SEPARATOR));
+		final List<String> weakSpam = Arrays.asList(SpamMatcherTest.WEAK_SPAM.split(SpamMatcher.SEPARATOR));
+		final boolean detected = SpamDetector.validateNoSpam(text, strongSpam, SpamMatcherTest.STRONG_THRESHOLD) && SpamDetector.validateNoSpam(text, weakSpam, SpamMatcherTest.WEAK_THRESHOLD);
+
+		Assertions.assertEquals(clean, detected, "SpamDetector on \"" + text + "\"");
+		Assertions.assertEquals(clean, SpamMatcherTest.MATCHER.validateNoSpam(text), "SpamMatcher on \"" + text + "\"");
+	}
+
+	// Words of at most five letters that contain no term, with the given number of letters.
+	protected static String filler(final int letters) {
+		final StringBuilder result = new StringBuilder();
+
+		for (int i = 0; i < letters; i++) {
+			if (i != 0 && i % 5 == 0)
+				result.append(' ');
+			result.append('x');
+		}
+
+		return result.toString();
+	}
+
+}
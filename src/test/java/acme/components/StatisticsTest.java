@@ -0,0 +1,134 @@
+package acme.components;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks that Statistics keeps the same count, mean, deviation and extremes whether the values are
+ * added one by one, loaded from database aggregates, removed again or merged from several parts.
+ */
+public class StatisticsTest {
+
+	// Constants --------------------------------------------------------------
+
+	protected static final double	DELTA	= 1e-9;
+
+	// Test cases -------------------------------------------------------------
+
+	@Test
+	public void emptyStatistics() {
+		final Statistics statistics = new Statistics();
+
+		Assertions.assertEquals(0L, statistics.getCount());
+		Assertions.assertNull(statistics.getMin());
+		Assertions.assertNull(statistics.getMax());
+		Assertions.assertNull(statistics.getAverage());
+		Assertions.assertNull(statistics.getDeviation());
+	}
+
+	@Test
+	public void addedValues() {
+		final Statistics statistics = StatisticsTest.of(2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0);
+
+		Assertions.assertEquals(8L, statistics.getCount());
+		Assertions.assertEquals(2.0, statistics.getMin());
+		Assertions.assertEquals(9.0, statistics.getMax());
+		Assertions.assertEquals(5.0, statistics.getAverage(), StatisticsTest.DELTA);
+		Assertions.assertEquals(2.0, statistics.getDeviation(), StatisticsTest.DELTA);
+	}
+
+	@Test
+	public void loadedAggregates() {
+		// count, sum, sum of squares, min and max of 2, 4, 4, 4, 5, 5, 7 and 9.
+		StatisticsTest.check(StatisticsTest.of(2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0), Statistics.of(8L, 40.0, 232.0, 2.0, 9.0));
+		Assertions.assertEquals(0L, Statistics.of(0L, 0.0, 0.0, 0.0, 0.0).getCount());
+	}
+
+	@Test
+	public void removedInnerValues() {
+		final Statistics statistics = StatisticsTest.of(2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0);
+
+		Assertions.assertTrue(statistics.remove(5.0));
+		Assertions.assertTrue(statistics.remove(4.0));
+		StatisticsTest.check(StatisticsTest.of(2.0, 4.0, 4.0, 5.0, 7.0, 9.0), statistics);
+	}
+
+	@Test
+	public void removedExtremes() {
+		final Statistics statistics = StatisticsTest.of(2.0, 4.0, 7.0, 9.0);
+
+		// The extremes are then stale, but the count, mean and deviation are still exact.
+		Assertions.assertFalse(statistics.remove(9.0));
+		Assertions.assertFalse(statistics.remove(2.0));
+		Assertions.assertEquals(2L, statistics.getCount());
+		Assertions.assertEquals(5.5, statistics.getAverage(), StatisticsTest.DELTA);
+		Assertions.assertEquals(1.5, statistics.getDeviation(), StatisticsTest.DELTA);
+	}
+
+	@Test
+	public void removedLastValues() {
+		final Statistics statistics = StatisticsTest.of(3.0);
+
+		Assertions.assertTrue(statistics.remove(3.0));
+		Assertions.assertEquals(0L, statistics.getCount());
+		Assertions.assertNull(statistics.getMin());
+		Assertions.assertNull(statistics.getAverage());
+
+		statistics.add(-1.0);
+		StatisticsTest.check(StatisticsTest.of(-1.0), statistics);
+	}
+
+	@Test
+	public void removedNegativeValues() {
+		final Statistics statistics = StatisticsTest.of(-10.0, -2.5, 0.0, 1.5, 8.0);
+
+		Assertions.assertTrue(statistics.remove(-2.5));
+		StatisticsTest.check(StatisticsTest.of(-10.0, 0.0, 1.5, 8.0), statistics);
+	}
+
+	@Test
+	public void mergedParts() {
+		final Statistics merged = StatisticsTest.of(2.0, 4.0, 4.0);
+
+		merged.merge(StatisticsTest.of(4.0, 5.0, 5.0, 7.0, 9.0));
+		merged.merge(new Statistics());
+		StatisticsTest.check(StatisticsTest.of(2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0), merged);
+	}
+
+	@Test
+	public void mergedIntoEmptyStatistics() {
+		final Statistics merged = new Statistics();
+
+		merged.merge(StatisticsTest.of(-3.0, 1.0, 8.0));
+		StatisticsTest.check(StatisticsTest.of(-3.0, 1.0, 8.0), merged);
+	}
+
+	@Test
+	public void mergedAndRemoved() {
+		final Statistics merged = StatisticsTest.of(1.0, 2.0, 3.0);
+
+		merged.merge(StatisticsTest.of(10.0, 20.0));
+		Assertions.assertTrue(merged.remove(3.0));
+		StatisticsTest.check(StatisticsTest.of(1.0, 2.0, 10.0, 20.0), merged);
+	}
+
+	// Ancillary methods ------------------------------------------------------
+
+	protected static Statistics of(final double... values) {
+		final Statistics result = new Statistics();
+
+		for (final double value : values)
+			result.add(value);
+
+		return result;
+	}
+
+	protected static void check(final Statistics expected, final Statistics actual) {
+		Assertions.assertEquals(expected.getCount(), actual.getCount());
+		Assertions.assertEquals(expected.getMin(), actual.getMin());
+		Assertions.assertEquals(expected.getMax(), actual.getMax());
+		Assertions.assertEquals(expected.getAverage(), actual.getAverage(), StatisticsTest.DELTA);
+		Assertions.assertEquals(expected.getDeviation(), actual.getDeviation(), StatisticsTest.DELTA);
+	}
+
+}